@@ -0,0 +1,107 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing and reading a 10k TaskDTO list in each negotiated format, with the mappers configured by
+ * {@link JacksonConfig}. {@code json-gzip} adds the compression the server applies to JSON. Payload sizes
+ * are printed once per fork during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskFormatBenchmark {
+
+    private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "json-gzip", "smile", "cbor"})
+    private String format;
+
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private List<TaskDTO> tasks;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        var builder = switch (format) {
+            case "json", "json-gzip" -> new Jackson2ObjectMapperBuilder();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        objectMapper = JacksonConfig.configure(builder).build();
+        gzip = format.equals("json-gzip");
+        tasks = IntStream.range(0, size)
+                .mapToObj(TaskFormatBenchmark::task)
+                .toList();
+        payload = serialize();
+        System.out.printf("%n%s payload for %d tasks: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(tasks);
+        }
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, tasks);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserialize() throws IOException {
+        if (!gzip) {
+            return objectMapper.readValue(payload, TASK_LIST);
+        }
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, TASK_LIST);
+        }
+    }
+
+    private static TaskDTO task(int i) {
+        var task = new TaskDTO();
+        task.setId(i);
+        task.setIndex(i);
+        task.setTitle("Task " + i);
+        task.setContent(i % 2 == 0 ? "Description of task " + i : null);
+        task.setStatus("draft");
+        task.setAssigneeId(i % 3 == 0 ? null : (long) i % 10);
+        task.setCreatedAt(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        task.setTaskLabelIds(List.of(1L, 2L));
+        return task;
+    }
+}
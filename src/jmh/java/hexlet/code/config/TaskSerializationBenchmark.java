@@ -0,0 +1,65 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization of TaskDTO lists with the ObjectMapper configured by {@link JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapperBuilder().build();
+        tasks = IntStream.range(0, size)
+                .mapToObj(TaskSerializationBenchmark::task)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    private static TaskDTO task(int i) {
+        var task = new TaskDTO();
+        task.setId(i);
+        task.setIndex(i);
+        task.setTitle("Task " + i);
+        task.setContent(i % 2 == 0 ? "Description of task " + i : null);
+        task.setStatus("draft");
+        task.setAssigneeId(i % 3 == 0 ? null : (long) i % 10);
+        task.setCreatedAt(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        task.setTaskLabelIds(List.of(1L, 2L));
+        return task;
+    }
+}
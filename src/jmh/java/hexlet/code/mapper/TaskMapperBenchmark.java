@@ -0,0 +1,144 @@
+package hexlet.code.mapper;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskUpdateDTO;
+import hexlet.code.model.BaseEntity;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Entity to DTO and DTO to entity mapping through the generated {@link TaskMapperImpl}.
+ * Reference resolution is stubbed, so the numbers cover mapping only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private static final int LABELS = 5;
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private List<Long> labelIds;
+    private TaskCreateDTO createDTO;
+    private TaskUpdateDTO updateDTO;
+
+    @Setup
+    public void setUp() {
+        var status = new TaskStatus();
+        status.setId(1L);
+        status.setSlug("draft");
+        var assignee = new User();
+        assignee.setId(1L);
+        Map<Long, Label> labels = LongStream.rangeClosed(1, LABELS)
+                .mapToObj(id -> {
+                    var label = new Label();
+                    label.setId(id);
+                    label.setName("label-" + id);
+                    return label;
+                })
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+        labelIds = List.copyOf(labels.keySet());
+
+        taskMapper = new TaskMapperImpl();
+        inject(taskMapper, "referenceDataCache", new ReferenceDataCache() {
+            @Override
+            public Optional<TaskStatus> findStatus(String slug) {
+                return Optional.of(status);
+            }
+
+            @Override
+            public List<Label> findLabels(Collection<Long> ids) {
+                return ids == null ? List.of() : ids.stream().map(labels::get).toList();
+            }
+        });
+        inject(taskMapper, "jsonNullableMapper", new JsonNullableMapperImpl());
+        inject(taskMapper, "referenceMapper", new ReferenceMapper() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends BaseEntity> T toEntity(Long id, Class<T> entityClass) {
+                return id == null ? null : (T) assignee;
+            }
+        });
+
+        task = new Task();
+        task.setId(1L);
+        task.setIndex(1);
+        task.setName("Benchmark task");
+        task.setDescription("Benchmark task description");
+        task.setTaskStatus(status);
+        task.setAssignee(assignee);
+        task.setCreatedAt(LocalDate.now());
+        task.getLabels().addAll(labels.values());
+
+        createDTO = new TaskCreateDTO();
+        createDTO.setTitle("Benchmark task");
+        createDTO.setContent("Benchmark task description");
+        createDTO.setStatus("draft");
+        createDTO.setAssigneeId(1L);
+        createDTO.setTaskLabelIds(labelIds);
+
+        updateDTO = new TaskUpdateDTO();
+        updateDTO.setTitle(JsonNullable.of("Updated task"));
+        updateDTO.setStatus(JsonNullable.of("draft"));
+        updateDTO.setAssigneeId(JsonNullable.of(1L));
+        updateDTO.setTaskLabelIds(labelIds);
+    }
+
+    @Benchmark
+    public TaskDTO mapEntity() {
+        return taskMapper.map(task);
+    }
+
+    @Benchmark
+    public TaskDTO mapEntityWithLabelIds() {
+        return taskMapper.map(task, labelIds);
+    }
+
+    @Benchmark
+    public Task mapCreateDTO() {
+        return taskMapper.map(createDTO);
+    }
+
+    @Benchmark
+    public Task mapUpdateDTO() {
+        var target = new Task();
+        taskMapper.update(updateDTO, target);
+        return target;
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        var field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,87 @@
+package hexlet.code.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-request cost of turning a bearer token into a {@link Jwt}, with and without {@link CachingJwtDecoder}.
+ * {@code sessions} distinct tokens are replayed round-robin, like clients re-sending their token with every
+ * request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    @Param({"1", "1000"})
+    private int sessions;
+
+    private JwtDecoder uncachedDecoder;
+    private JwtDecoder cachingDecoder;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var keyPair = generator.generateKeyPair();
+        var jwk = JwtKeyType.RSA.toJwk("benchmark", keyPair.getPublic(), keyPair.getPrivate());
+        var ring = new JwtKeyRing(jwk, List.of(jwk));
+        var encoder = ring.encoder();
+
+        var now = Instant.now();
+        tokens = IntStream.range(0, sessions)
+                .mapToObj(i -> encoder.encode(JwtEncoderParameters.from(JwtClaimsSet.builder()
+                        .issuer("self")
+                        .issuedAt(now)
+                        .expiresAt(now.plus(Duration.ofHours(1)))
+                        .subject("user" + i + "@example.com")
+                        .build())).getTokenValue())
+                .toArray(String[]::new);
+
+        uncachedDecoder = ring.decoder(JwtValidators.createDefault());
+        cachingDecoder = new CachingJwtDecoder(ring.decoder(JwtValidators.createDefault()),
+                10_000, Duration.ofMinutes(15), null);
+    }
+
+    @Benchmark
+    public Jwt uncached() {
+        return uncachedDecoder.decode(nextToken());
+    }
+
+    @Benchmark
+    public Jwt caching() {
+        return cachingDecoder.decode(nextToken());
+    }
+
+    private String nextToken() {
+        var token = tokens[next];
+        next = (next + 1) % tokens.length;
+        return token;
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.component;
+
+
+import hexlet.code.security.JwtKeyType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "security.jwt")
+@Setter
+@Getter
+public class JwtKeyProperties {
+
+    private String activeKey;
+    private List<Key> keys = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Key {
+        private String id;
+        private JwtKeyType type = JwtKeyType.RSA;
+        private Resource publicKey;
+        private Resource privateKey;
+    }
+}
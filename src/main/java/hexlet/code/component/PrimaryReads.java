@@ -0,0 +1,33 @@
+package hexlet.code.component;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the loaders of cross-request caches in a read-write transaction, so that with replica routing they
+ * read from the primary. A loader reading a lagging replica right after a write would put the pre-write
+ * state back into the cache the write has just evicted, and keep serving it until the entry expires.
+ * Inside a read-only transaction the loader gets a transaction of its own.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate joining;
+    private final TransactionTemplate separate;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.joining = new TransactionTemplate(transactionManager);
+        this.separate = new TransactionTemplate(transactionManager);
+        this.separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T read(Supplier<T> loader) {
+        var template = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? separate : joining;
+        return template.execute(status -> loader.get());
+    }
+}
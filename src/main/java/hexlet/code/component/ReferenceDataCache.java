@@ -0,0 +1,113 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near-cache for task statuses and labels used while mapping task writes. Entries are detached copies,
+ * evicted by {@link ReferenceDataCacheListener} whenever a status or label is updated or deleted.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final Map<String, TaskStatus> statusesBySlug = new ConcurrentHashMap<>();
+    private final Map<Long, Label> labelsById = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    public Optional<TaskStatus> findStatus(String slug) {
+        if (slug == null) {
+            return Optional.empty();
+        }
+        var cached = statusesBySlug.get(slug);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var observed = generation.get();
+        var loaded = primaryReads.read(() -> taskStatusRepository.findBySlug(slug).map(ReferenceDataCache::copyOf));
+        loaded.ifPresent(status -> {
+            statusesBySlug.put(slug, status);
+            if (generation.get() != observed) {
+                statusesBySlug.remove(slug);
+            }
+        });
+        return loaded;
+    }
+
+    public List<Label> findLabels(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        var result = new ArrayList<Label>(ids.size());
+        var missing = new ArrayList<Long>();
+        for (Long id : ids) {
+            var cached = labelsById.get(id);
+            if (cached != null) {
+                result.add(cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            var observed = generation.get();
+            for (Label label : primaryReads.read(() -> labelRepository.findByIdIn(missing))) {
+                var copy = copyOf(label);
+                labelsById.put(copy.getId(), copy);
+                result.add(copy);
+            }
+            if (generation.get() != observed) {
+                missing.forEach(labelsById::remove);
+            }
+        }
+        return result;
+    }
+
+    public void evictStatus(long id) {
+        generation.incrementAndGet();
+        statusesBySlug.values().removeIf(status -> status.getId() == id);
+    }
+
+    public void evictLabel(long id) {
+        generation.incrementAndGet();
+        labelsById.remove(id);
+    }
+
+    private static TaskStatus copyOf(TaskStatus status) {
+        var copy = new TaskStatus();
+        copy.setId(status.getId());
+        copy.setName(status.getName());
+        copy.setSlug(status.getSlug());
+        copy.setCreatedAt(status.getCreatedAt());
+        copy.setVersion(status.getVersion());
+        return copy;
+    }
+
+    private static Label copyOf(Label label) {
+        var copy = new Label();
+        copy.setId(label.getId());
+        copy.setName(label.getName());
+        copy.setCreatedAt(label.getCreatedAt());
+        copy.setVersion(label.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,33 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.utils.TransactionUtils;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+public class ReferenceDataCacheListener {
+
+    @Lazy
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Runnable evict;
+        if (entity instanceof TaskStatus status) {
+            var id = status.getId();
+            evict = () -> referenceDataCache.evictStatus(id);
+        } else if (entity instanceof Label label) {
+            var id = label.getId();
+            evict = () -> referenceDataCache.evictLabel(id);
+        } else {
+            return;
+        }
+        evict.run();
+        TransactionUtils.afterCommit(evict);
+    }
+}
@@ -1,21 +0,0 @@
-package hexlet.code.component;
-
-
-import lombok.Getter;
-import lombok.Setter;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
-
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-
-@Component
-@ConfigurationProperties(prefix = "rsa")
-@Setter
-@Getter
-public class RsaKeyProperties {
-
-    private RSAPublicKey publicKey;
-    private RSAPrivateKey privateKey;
-
-}
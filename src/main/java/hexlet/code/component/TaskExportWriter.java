@@ -0,0 +1,116 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+public class TaskExportWriter {
+
+    private static final String CSV_HEADER = "id,index,title,content,status,assignee_id,created_at,task_label_ids";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void write(Format format, TaskParamsDTO params, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+        try {
+            taskService.export(params, task -> writeRow(format, task, writer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Format format, TaskDTO task, Writer writer) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(toCsv(task));
+            } else {
+                writer.write(objectMapper.writeValueAsString(task));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(TaskDTO task) {
+        var labelIds = task.getTaskLabelIds() == null ? "" : task.getTaskLabelIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(";"));
+        return List.of(
+                        String.valueOf(task.getId()),
+                        String.valueOf(task.getIndex()),
+                        Objects.toString(task.getTitle(), ""),
+                        Objects.toString(task.getContent(), ""),
+                        Objects.toString(task.getStatus(), ""),
+                        Objects.toString(task.getAssigneeId(), ""),
+                        Objects.toString(task.getCreatedAt(), ""),
+                        labelIds)
+                .stream()
+                .map(TaskExportWriter::escapeCsv)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    public enum Format {
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format fromParam(String param) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(param))
+                    .findFirst()
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Unsupported export format: " + param));
+        }
+    }
+}
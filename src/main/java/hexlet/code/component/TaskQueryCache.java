@@ -0,0 +1,121 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.TaskListDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of task list results and their entity tags keyed by normalized filter parameters.
+ * Only writes that can change a cached list evict it: task writes evict the filters matching the task
+ * before and after the change, status updates evict the filters that can contain tasks with that status.
+ * Label and user writes do not change TaskDTO content, and deleting a label, status or user that is still
+ * referenced by tasks is rejected, so they never invalidate anything. {@link TaskQueryCacheListener} evicts
+ * on JPA writes in this process; entries also expire after {@code tasks.query-cache.expire-after-write} so
+ * writes from other instances or plain SQL show up eventually.
+ */
+@Component
+public class TaskQueryCache {
+
+    private final Cache<Key, TaskListDTO> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskQueryCache(@Value("${tasks.query-cache.max-size:500}") long maxSize,
+                          @Value("${tasks.query-cache.expire-after-write:PT1M}") Duration expireAfterWrite,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.query");
+    }
+
+    public TaskListDTO getIfPresent(TaskParamsDTO params) {
+        return cache.getIfPresent(Key.of(params));
+    }
+
+    public TaskListDTO get(TaskParamsDTO params, Supplier<TaskListDTO> loader) {
+        var key = Key.of(params);
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var observed = generation.get();
+        var result = loader.get();
+        cache.put(key, result);
+        if (generation.get() != observed) {
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    public void evictTask(Snapshot... snapshots) {
+        evict(key -> Arrays.stream(snapshots).filter(Objects::nonNull).anyMatch(key::matches));
+    }
+
+    public void evictStatus(String... slugs) {
+        var affected = Arrays.stream(slugs).filter(Objects::nonNull).toList();
+        evict(key -> key.status() == null || affected.contains(key.status()));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void evict(Predicate<Key> predicate) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    public record Key(String titleCont, Long assigneeId, String status, Long labelId) {
+
+        static Key of(TaskParamsDTO params) {
+            var titleCont = params.getTitleCont() == null ? null : params.getTitleCont().toLowerCase(Locale.ROOT);
+            return new Key(titleCont, params.getAssigneeId(), params.getStatus(), params.getLabelId());
+        }
+
+        boolean matches(Snapshot task) {
+            return (titleCont == null || task.title() != null && task.title().contains(titleCont))
+                    && (assigneeId == null || assigneeId.equals(task.assigneeId()))
+                    && (status == null || task.status() == null || status.equals(task.status()))
+                    && (labelId == null || task.labelIds() == null || task.labelIds().contains(labelId));
+        }
+    }
+
+    /**
+     * Filterable state of a task. A null status or label set means it was not loaded and is unknown.
+     */
+    public record Snapshot(String title, Long assigneeId, String status, Set<Long> labelIds) {
+
+        public static Snapshot of(Task task) {
+            var title = task.getName() == null ? null : task.getName().toLowerCase(Locale.ROOT);
+            var assigneeId = task.getAssignee() == null ? null : task.getAssignee().getId();
+            var status = task.getTaskStatus() == null || !Hibernate.isInitialized(task.getTaskStatus())
+                    ? null
+                    : task.getTaskStatus().getSlug();
+            Set<Long> labelIds = task.getLabels() == null || !Hibernate.isInitialized(task.getLabels())
+                    ? null
+                    : task.getLabels().stream().map(Label::getId).collect(Collectors.toSet());
+            return new Snapshot(title, assigneeId, status, labelIds);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.utils.TransactionUtils;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Evicts {@link TaskQueryCache} entries on every JPA write of a task or status, whichever code path makes it.
+ * The state seen at load time is kept on the entity instance itself so an update also evicts the filters the
+ * task is leaving; fields that were still lazy at load time count as unknown and match every filter, and a change
+ * to an instance that was never loaded here clears the cache.
+ */
+public class TaskQueryCacheListener {
+
+    @Lazy
+    @Autowired
+    private TaskQueryCache taskQueryCache;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Task task) {
+            task.setLoadedSnapshot(TaskQueryCache.Snapshot.of(task));
+        } else if (entity instanceof TaskStatus status) {
+            status.setLoadedSlug(status.getSlug());
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Task task) {
+            var after = TaskQueryCache.Snapshot.of(task);
+            evict(() -> taskQueryCache.evictTask(after));
+        }
+        onLoad(entity);
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Task task) {
+            var before = task.getLoadedSnapshot();
+            var after = TaskQueryCache.Snapshot.of(task);
+            evict(before == null ? taskQueryCache::clear : () -> taskQueryCache.evictTask(before, after));
+        } else if (entity instanceof TaskStatus status) {
+            var before = status.getLoadedSlug();
+            var after = status.getSlug();
+            evict(before == null ? taskQueryCache::clear : () -> taskQueryCache.evictStatus(before, after));
+        }
+        onLoad(entity);
+    }
+
+    private static void evict(Runnable evict) {
+        evict.run();
+        TransactionUtils.afterCommit(evict);
+    }
+}
@@ -0,0 +1,109 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.UserCreateDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads users from RFC 4180 CSV. The first record is a header naming the columns; {@code email} and
+ * {@code password} are required, {@code first_name} and {@code last_name} are optional.
+ */
+@Component
+public class UserCsvReader {
+
+    public List<UserCreateDTO> read(String csv, int maxRows) {
+        var records = parse(csv);
+        if (records.isEmpty()) {
+            throw badRequest("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        var header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("email") || !columns.containsKey("password")) {
+            throw badRequest("CSV header must contain email and password columns");
+        }
+        if (records.size() - 1 > maxRows) {
+            throw badRequest("CSV must contain at most " + maxRows + " rows");
+        }
+        List<UserCreateDTO> users = new ArrayList<>(records.size() - 1);
+        for (var record : records.subList(1, records.size())) {
+            var user = new UserCreateDTO();
+            user.setEmail(column(record, columns, "email"));
+            user.setPassword(column(record, columns, "password"));
+            user.setFirstName(column(record, columns, "first_name"));
+            user.setLastName(column(record, columns, "last_name"));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        var index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static List<List<String>> parse(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        var field = new StringBuilder();
+        var quoted = false;
+        var fieldStarted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            var c = csv.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (fieldStarted || !field.isEmpty()) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append(c);
+                fieldStarted = true;
+            }
+        }
+        if (quoted) {
+            throw badRequest("CSV has an unterminated quoted field");
+        }
+        if (fieldStarted || !field.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+}
@@ -1,44 +1,59 @@
 package hexlet.code.config;
 
-import hexlet.code.component.RsaKeyProperties;
-import org.springframework.beans.factory.annotation.Autowired;
+import hexlet.code.component.JwtKeyProperties;
+import hexlet.code.security.BoundedPasswordEncoder;
+import hexlet.code.security.CachingJwtDecoder;
+import hexlet.code.security.JwtKeyRing;
+import hexlet.code.security.RevocationCheckingJwtDecoder;
+import hexlet.code.security.TokenRevocationList;
+import hexlet.code.security.TokenTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import java.time.Duration;
 
 
 @Configuration
 public class EncodersConfig {
 
-    @Autowired
-    private RsaKeyProperties rsaKeys;
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.threads:2}") int threads,
+            @Value("${security.password-hashing.queue-capacity:50}") int queueCapacity,
+            @Value("${security.password-hashing.bulk-threads:0}") int bulkThreads,
+            @Value("${security.password-hashing.bulk-queue-capacity:5000}") int bulkQueueCapacity,
+            @Value("${security.password-hashing.retry-after:PT1S}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity,
+                bulkThreads > 0 ? bulkThreads : Runtime.getRuntime().availableProcessors(), bulkQueueCapacity,
+                retryAfter, meterRegistry);
+    }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    JwtKeyRing jwtKeyRing(JwtKeyProperties jwtKeys) {
+        return JwtKeyRing.load(jwtKeys);
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(rsaKeys.getPublicKey()).privateKey(rsaKeys.getPrivateKey()).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+        return jwtKeyRing.encoder();
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    JwtDecoder jwtDecoder(JwtKeyRing jwtKeyRing, TokenRevocationList tokenRevocationList,
+                          @Value("${security.jwt-cache.max-size:10000}") long maxSize,
+                          @Value("${security.jwt-cache.max-ttl:PT15M}") Duration maxTtl,
+                          MeterRegistry meterRegistry) {
+        var decoder = jwtKeyRing.decoder(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(), TokenTypeValidator.accessTokens()));
+        return new RevocationCheckingJwtDecoder(new CachingJwtDecoder(decoder, maxSize, maxTtl, meterRegistry),
+                tokenRevocationList);
     }
 }
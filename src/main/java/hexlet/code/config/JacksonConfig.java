@@ -5,15 +5,35 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import org.openapitools.jackson.nullable.JsonNullableModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 import java.time.format.DateTimeFormatter;
 
+/**
+ * One Jackson setup shared by JSON and the binary CBOR and Smile formats, which clients select with
+ * {@code Accept: application/cbor} or {@code application/x-jackson-smile}. The converter beans replace the
+ * default ones Spring MVC would otherwise build without this setup.
+ */
 @Configuration
 public class JacksonConfig {
     @Bean
     Jackson2ObjectMapperBuilder objectMapperBuilder() {
-        var builder = new Jackson2ObjectMapperBuilder();
+        return configure(new Jackson2ObjectMapperBuilder());
+    }
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(Jackson2ObjectMapperBuilder.cbor()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(configure(Jackson2ObjectMapperBuilder.smile()).build());
+    }
+
+    static Jackson2ObjectMapperBuilder configure(Jackson2ObjectMapperBuilder builder) {
         builder.serializationInclusion(JsonInclude.Include.NON_NULL)
                 .modulesToInstall(new JsonNullableModule());
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1,7 +1,11 @@
 package hexlet.code.controller;
 
 import hexlet.code.dto.LoginRequestDTO;
-import hexlet.code.utils.JWTUtils;
+import hexlet.code.dto.RefreshTokenRequestDTO;
+import hexlet.code.dto.TokenPairDTO;
+import hexlet.code.model.User;
+import hexlet.code.security.AuthenticatedUser;
+import hexlet.code.service.RefreshTokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -9,9 +13,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -19,11 +26,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class AuthController {
 
+    private static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
     @Autowired
-    private JWTUtils jwtUtils;
+    private RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public ResponseEntity<String> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
@@ -31,10 +40,32 @@ public class AuthController {
             var authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
             );
-            String token = jwtUtils.generateToken(loginRequest.getUsername());
-            return ResponseEntity.ok(token);
+            var user = (User) authentication.getPrincipal();
+            var tokens = refreshTokenService.issue(new AuthenticatedUser(user.getId(), user.getEmail()),
+                    user.getAuthorities());
+            return withTokens(tokens);
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<String> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return withTokens(refreshTokenService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@AuthenticationPrincipal Jwt jwt,
+                       @RequestBody(required = false) RefreshTokenRequestDTO request) {
+        if (jwt != null) {
+            refreshTokenService.revoke(jwt, request == null ? null : request.getRefreshToken());
+        }
+    }
+
+    private static ResponseEntity<String> withTokens(TokenPairDTO tokens) {
+        return ResponseEntity.ok()
+                .header(REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
+                .body(tokens.getAccessToken());
+    }
 }
@@ -7,17 +7,21 @@ import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.LabelMapper;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.utils.EntityTags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -35,10 +39,16 @@ public class LabelController {
     private LabelMapper labelMapper;
 
     @GetMapping("/labels")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<LabelDTO>> index() {
+    public ResponseEntity<List<LabelDTO>> index(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                String ifNoneMatch) {
+        var etag = EntityTags.ofVersions(labelRepository.findVersions());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         var labels = labelRepository.findAll();
         return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
                 .header("X-Total-Count", String.valueOf(labels.size()))
                 .body(labels.stream()
                         .map(labelMapper::map)
@@ -46,11 +56,16 @@ public class LabelController {
     }
 
     @GetMapping("/labels/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelDTO show(@PathVariable Long id) {
+    public ResponseEntity<LabelDTO> show(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                         String ifNoneMatch) {
         var label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Label with id " + id + " not found"));
-        return labelMapper.map(label);
+        var etag = EntityTags.of(label.getId(), label.getVersion());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(labelMapper.map(label));
     }
 
     @PostMapping("/labels")
@@ -62,22 +77,29 @@ public class LabelController {
     }
 
     @PutMapping("/labels/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public LabelDTO update(@RequestBody LabelUpdateDTO labelUpdateDTO, @PathVariable Long id) {
+    @Transactional
+    public ResponseEntity<LabelDTO> update(@RequestBody LabelUpdateDTO labelUpdateDTO, @PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Label not found"));
+        EntityTags.checkIfMatch(ifMatch, EntityTags.of(label.getId(), label.getVersion()));
         labelMapper.update(labelUpdateDTO, label);
-        labelRepository.save(label);
-        return labelMapper.map(label);
+        labelRepository.saveAndFlush(label);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(label.getId(), label.getVersion()))
+                .body(labelMapper.map(label));
     }
 
     @DeleteMapping("/labels/{id}")
+    @Transactional
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         Label label = labelRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Label not found"));
         try {
             labelRepository.delete(label);
+            labelRepository.flush();
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
                     "Cannot delete label: it is linked to tasks");
@@ -1,7 +1,11 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.TaskExportWriter;
+import hexlet.code.dto.TaskBulkResultDTO;
+import hexlet.code.dto.TaskBulkUpdateDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageParamsDTO;
 import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.dto.TaskUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
@@ -9,20 +13,28 @@ import hexlet.code.mapper.TaskMapper;
 import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.service.TaskService;
+import hexlet.code.utils.EntityTags;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,6 +42,8 @@ import java.util.List;
 @RequestMapping("/api")
 public class TaskController {
 
+    private static final int BATCH_LIMIT = 1000;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -37,22 +51,61 @@ public class TaskController {
     private TaskMapper taskMapper;
     @Autowired
     private TaskService taskService;
+    @Autowired
+    private TaskExportWriter taskExportWriter;
 
     @GetMapping("/tasks")
-    @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<TaskDTO>> index(TaskParamsDTO taskParams) {
+    public ResponseEntity<List<TaskDTO>> index(TaskParamsDTO taskParams, TaskPageParamsDTO pageParams,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                               String ifNoneMatch) {
+        if (pageParams.isPaged()) {
+            var page = taskService.getPage(taskParams, pageParams);
+            var response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+            if (page.getNextCursor() != null) {
+                response.header("X-Next-Cursor", page.getNextCursor());
+            }
+            if (page.getTotalCount() != null) {
+                response.header("X-Total-Count", String.valueOf(page.getTotalCount()));
+            }
+            return response.body(page.getItems());
+        }
+        if (ifNoneMatch != null) {
+            var etag = taskService.getTag(taskParams);
+            if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         var result = taskService.getAll(taskParams);
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(result.size()))
-                .body(result);
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(result.getEtag())
+                .header("X-Total-Count", String.valueOf(result.getItems().size()))
+                .body(result.getItems());
+    }
+
+    @GetMapping("/tasks/export")
+    public ResponseEntity<StreamingResponseBody> export(TaskParamsDTO taskParams,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        var exportFormat = TaskExportWriter.Format.fromParam(format);
+        StreamingResponseBody body = out -> taskExportWriter.write(exportFormat, taskParams, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/tasks/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskDTO show(@PathVariable Long id) {
+    public ResponseEntity<TaskDTO> show(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                        String ifNoneMatch) {
         var task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
-        return taskMapper.map(task);
+        var etag = tagOf(task);
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskMapper.map(task));
     }
 
     @PostMapping("/tasks")
@@ -63,21 +116,45 @@ public class TaskController {
         return taskMapper.map(task);
     }
 
-    @PutMapping("/tasks/{id}")
+    @PostMapping("/tasks/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskDTO> createBatch(@RequestBody @NotEmpty @Size(max = BATCH_LIMIT)
+                                     List<@Valid TaskCreateDTO> taskCreateDTOs) {
+        var tasks = taskService.createAll(taskCreateDTOs);
+        return tasks.stream()
+                .map(taskMapper::map)
+                .toList();
+    }
+
+    @PostMapping("/tasks/bulk")
     @ResponseStatus(HttpStatus.OK)
-    public TaskDTO update(@RequestBody TaskUpdateDTO taskUpdateDTO, @PathVariable Long id) {
+    public TaskBulkResultDTO bulkUpdate(@Valid @RequestBody TaskBulkUpdateDTO taskBulkUpdateDTO) {
+        return taskService.bulkUpdate(taskBulkUpdateDTO);
+    }
+
+    @PutMapping("/tasks/{id}")
+    @Transactional
+    public ResponseEntity<TaskDTO> update(@RequestBody TaskUpdateDTO taskUpdateDTO, @PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
+        EntityTags.checkIfMatch(ifMatch, tagOf(task));
         taskMapper.update(taskUpdateDTO, task);
-        taskRepository.save(task);
-        return taskMapper.map(task);
+        taskRepository.saveAndFlush(task);
+        return ResponseEntity.ok().eTag(tagOf(task)).body(taskMapper.map(task));
     }
 
     @DeleteMapping("/tasks/{id}")
+    @Transactional
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
         taskRepository.delete(task);
     }
+
+    private static String tagOf(Task task) {
+        return EntityTags.of(task.getId(), task.getVersion(), task.getTaskStatus().getVersion());
+    }
 }
@@ -7,17 +7,21 @@ import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskStatusMapper;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.EntityTags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -36,22 +40,34 @@ public class TaskStatusController {
 
 
     @GetMapping("/task_statuses")
-    public ResponseEntity<List<TaskStatusDTO>> index() {
+    public ResponseEntity<List<TaskStatusDTO>> index(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var etag = EntityTags.ofVersions(taskStatusRepository.findVersions());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         var users = taskStatusRepository.findAll();
         var result = users.stream()
                 .map(p -> taskStatusMapper.map(p))
                 .toList();
         return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
                 .header("X-Total-Count", String.valueOf(result.size()))
                 .body(result);
     }
 
     @GetMapping("/task_statuses/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO show(@PathVariable Long id) {
+    public ResponseEntity<TaskStatusDTO> show(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                              String ifNoneMatch) {
         var taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskStatus with id " + id + " not found"));
-        return taskStatusMapper.map(taskStatus);
+        var etag = EntityTags.of(taskStatus.getId(), taskStatus.getVersion());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskStatusMapper.map(taskStatus));
     }
 
     @PostMapping("/task_statuses")
@@ -63,22 +79,30 @@ public class TaskStatusController {
     }
 
     @PutMapping("/task_statuses/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public TaskStatusDTO update(@RequestBody TaskStatusUpdateDTO taskStatusUpdateDTO, @PathVariable Long id) {
+    @Transactional
+    public ResponseEntity<TaskStatusDTO> update(@RequestBody TaskStatusUpdateDTO taskStatusUpdateDTO,
+                                                @PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
         var taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Not Found"));
+        EntityTags.checkIfMatch(ifMatch, EntityTags.of(taskStatus.getId(), taskStatus.getVersion()));
         taskStatusMapper.update(taskStatusUpdateDTO, taskStatus);
-        taskStatusRepository.save(taskStatus);
-        return taskStatusMapper.map(taskStatus);
+        taskStatusRepository.saveAndFlush(taskStatus);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(taskStatus.getId(), taskStatus.getVersion()))
+                .body(taskStatusMapper.map(taskStatus));
     }
 
     @DeleteMapping("/task_statuses/{id}")
+    @Transactional
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         TaskStatus status = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Not Found"));
         try {
             taskStatusRepository.delete(status);
+            taskStatusRepository.flush();
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
                     "Cannot delete status: it is linked to tasks");
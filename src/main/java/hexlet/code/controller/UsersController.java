@@ -1,24 +1,35 @@
 package hexlet.code.controller;
 
+import hexlet.code.component.UserCsvReader;
 import hexlet.code.dto.UserCreateDTO;
 import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.UserImportResultDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.UserMapper;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.security.TokenRevocationList;
+import hexlet.code.service.UserImportService;
+import hexlet.code.utils.EntityTags;
 import hexlet.code.utils.UserUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -30,31 +41,51 @@ import java.util.List;
 @RequestMapping("/api")
 public class UsersController {
 
+    private static final int IMPORT_LIMIT = 5000;
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private UserMapper userMapper;
     @Autowired
     private UserUtils userUtils;
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private UserCsvReader userCsvReader;
 
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> index() {
+    public ResponseEntity<List<UserDTO>> index(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                               String ifNoneMatch) {
+        var etag = EntityTags.ofVersions(userRepository.findVersions());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         var users = userRepository.findAll();
         var result = users.stream()
                 .map(p -> userMapper.map(p))
                 .toList();
         return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
                 .header("X-Total-Count", String.valueOf(result.size()))
                 .body(result);
     }
 
     @GetMapping("/users/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO show(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> show(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                        String ifNoneMatch) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User with id " + id + " not found"));
-        return userMapper.map(user);
+        var etag = EntityTags.of(user.getId(), user.getVersion());
+        if (EntityTags.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(userMapper.map(user));
     }
 
     @PostMapping("/users")
@@ -65,27 +96,62 @@ public class UsersController {
         return userMapper.map(user);
     }
 
+    @PostMapping(path = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public UserImportResultDTO importUsers(@RequestBody @NotEmpty @Size(max = IMPORT_LIMIT)
+                                           List<UserCreateDTO> users) {
+        return userImportService.importUsers(users);
+    }
+
+    @PostMapping(path = "/users/import", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    public UserImportResultDTO importUsersCsv(@RequestBody String csv) {
+        return userImportService.importUsers(userCsvReader.read(csv, IMPORT_LIMIT));
+    }
+
     @PutMapping("/users/{id}")
+    @Transactional
     @PreAuthorize("@userUtils.isOwner(#id)")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO update(@RequestBody UserUpdateDTO userData, @PathVariable Long id) {
+    public ResponseEntity<UserDTO> update(@RequestBody UserUpdateDTO userData, @PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Not Found"));
+        EntityTags.checkIfMatch(ifMatch, EntityTags.of(user.getId(), user.getVersion()));
+        var passwordChanged = userData.getPassword() != null && userData.getPassword().orElse(null) != null;
         userMapper.update(userData, user);
-        userRepository.save(user);
-        return userMapper.map(user);
+        userRepository.saveAndFlush(user);
+        if (passwordChanged) {
+            tokenRevocationList.revokeAll(id);
+        }
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(user.getId(), user.getVersion()))
+                .body(userMapper.map(user));
     }
 
     @DeleteMapping("/users/{id}")
+    @Transactional
     @PreAuthorize("@userUtils.isOwner(#id)")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         try {
             userRepository.deleteById(id);
+            userRepository.flush();
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
                     "Cannot delete user: it is linked to tasks");
         }
     }
 
+    @DeleteMapping("/users/{id}/tokens")
+    @Transactional
+    @PreAuthorize("@userUtils.isOwner(#id) or hasAuthority('ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeTokens(@PathVariable Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User with id " + id + " not found");
+        }
+        tokenRevocationList.revokeAll(id);
+    }
+
 }
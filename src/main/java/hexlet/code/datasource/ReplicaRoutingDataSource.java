@@ -0,0 +1,158 @@
+package hexlet.code.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary. A replica
+ * is eligible while its last lag check succeeded and reported at most {@code maxLag}; among those one is
+ * picked round-robin or by fewest connections in use. Without an eligible replica, or when the chosen one
+ * refuses a connection, the read goes to the primary. Connections must be requested after the transaction
+ * is set up, which {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} ensures.
+ */
+public final class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReplicaSelection selection, Duration maxLag, String lagQuery,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.fallbacks = meterRegistry == null ? null : Counter.builder("datasource.replica.fallbacks")
+                .register(meterRegistry);
+        if (meterRegistry != null) {
+            for (int i = 0; i < this.replicas.size(); i++) {
+                Gauge.builder("datasource.replica.lag", this.replicas.get(i), Replica::lagSeconds)
+                        .tag("replica", String.valueOf(i + 1))
+                        .baseUnit("seconds")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        for (var replica : candidates()) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.lag = null;
+            }
+        }
+        if (fallbacks != null) {
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Measures every replica's lag with {@code lagQuery}, which must return the lag in seconds. Without a
+     * query a replica only has to be reachable. A replica that fails the check is skipped until it passes.
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval:PT5S}")
+    public void checkLag() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                if (lagQuery == null || lagQuery.isBlank()) {
+                    replica.lag = connection.isValid(1) ? Duration.ZERO : null;
+                    continue;
+                }
+                try (var statement = connection.createStatement();
+                     var result = statement.executeQuery(lagQuery)) {
+                    var seconds = result.next() ? result.getDouble(1) : 0;
+                    replica.lag = Duration.ofMillis(Math.round(seconds * 1000));
+                }
+            } catch (SQLException e) {
+                replica.lag = null;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica data source", e);
+                }
+            }
+        }
+    }
+
+    private List<Replica> candidates() {
+        List<Replica> eligible = new ArrayList<>();
+        for (var replica : replicas) {
+            var lag = replica.lag;
+            if (lag != null && lag.compareTo(maxLag) <= 0) {
+                eligible.add(replica);
+            }
+        }
+        if (eligible.size() < 2) {
+            return eligible;
+        }
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            eligible.sort(Comparator.comparingInt(Replica::activeConnections));
+            return eligible;
+        }
+        var start = Math.floorMod(next.getAndIncrement(), eligible.size());
+        List<Replica> rotated = new ArrayList<>(eligible.subList(start, eligible.size()));
+        rotated.addAll(eligible.subList(0, start));
+        return rotated;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile Duration lag;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                return hikari.getHikariPoolMXBean().getActiveConnections();
+            }
+            return 0;
+        }
+
+        double lagSeconds() {
+            var current = lag;
+            return current == null ? Double.NaN : current.toMillis() / 1000.0;
+        }
+    }
+}
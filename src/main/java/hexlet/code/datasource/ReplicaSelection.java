@@ -0,0 +1,6 @@
+package hexlet.code.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED
+}
@@ -0,0 +1,37 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import org.openapitools.jackson.nullable.JsonNullable;
+
+import java.util.List;
+
+
+@Getter
+@Setter
+public class TaskBulkUpdateDTO {
+    public static final int MAX_TASKS = 1000;
+
+    @Size(max = MAX_TASKS)
+    private List<Long> ids;
+
+    private TaskParamsDTO filter;
+
+    private String status;
+
+    @JsonProperty("assignee_id")
+    private JsonNullable<Long> assigneeId = JsonNullable.undefined();
+
+    private List<Long> addLabelIds;
+
+    private List<Long> removeLabelIds;
+
+    public boolean hasOperation() {
+        return status != null
+                || assigneeId.isPresent()
+                || addLabelIds != null && !addLabelIds.isEmpty()
+                || removeLabelIds != null && !removeLabelIds.isEmpty();
+    }
+}
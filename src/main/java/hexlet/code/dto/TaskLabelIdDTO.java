@@ -0,0 +1,12 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class TaskLabelIdDTO {
+    private Long taskId;
+    private Long labelId;
+}
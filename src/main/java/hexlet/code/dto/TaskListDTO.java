@@ -0,0 +1,14 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+
+@Getter
+@AllArgsConstructor
+public class TaskListDTO {
+    private List<TaskDTO> items;
+    private String etag;
+}
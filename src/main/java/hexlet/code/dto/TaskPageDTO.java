@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+
+@Getter
+@AllArgsConstructor
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    private String nextCursor;
+    private Long totalCount;
+}
@@ -0,0 +1,30 @@
+package hexlet.code.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+public class TaskPageParamsDTO {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private String cursor;
+    private Integer limit;
+    private String sort;
+    private Boolean count;
+
+    public boolean isPaged() {
+        return cursor != null || limit != null;
+    }
+
+    public int effectiveLimit() {
+        return limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    public boolean isCountRequested() {
+        return Boolean.TRUE.equals(count);
+    }
+}
@@ -12,4 +12,8 @@ public class TaskParamsDTO {
     private Long assigneeId;
     private String status;
     private Long labelId;
+
+    public boolean hasCriteria() {
+        return titleCont != null || assigneeId != null || status != null || labelId != null;
+    }
 }
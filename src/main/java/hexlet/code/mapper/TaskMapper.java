@@ -1,5 +1,6 @@
 package hexlet.code.mapper;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskUpdateDTO;
@@ -7,8 +8,6 @@ import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repository.LabelRepository;
-import hexlet.code.repository.TaskStatusRepository;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -29,10 +28,7 @@ import java.util.Set;
 public abstract class TaskMapper {
 
     @Autowired
-    private TaskStatusRepository taskStatusRepository;
-
-    @Autowired
-    private LabelRepository labelRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @Mapping(source = "assigneeId", target = "assignee")
     @Mapping(source = "status", target = "taskStatus")
@@ -41,6 +37,13 @@ public abstract class TaskMapper {
     @Mapping(source = "taskLabelIds", target = "labels")
     public abstract Task map(TaskCreateDTO dto);
 
+    @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "taskStatus", ignore = true)
+    @Mapping(target = "labels", ignore = true)
+    @Mapping(source = "title", target = "name")
+    @Mapping(source = "content", target = "description")
+    public abstract Task mapWithoutReferences(TaskCreateDTO dto);
+
     @Mapping(source = "assignee.id", target = "assigneeId")
     @Mapping(source = "taskStatus.slug", target = "status")
     @Mapping(source = "name", target = "title")
@@ -48,6 +51,19 @@ public abstract class TaskMapper {
     @Mapping(source = "labels", target = "taskLabelIds")
     public abstract TaskDTO map(Task task);
 
+    @Mapping(source = "assignee.id", target = "assigneeId")
+    @Mapping(source = "taskStatus.slug", target = "status")
+    @Mapping(source = "name", target = "title")
+    @Mapping(source = "description", target = "content")
+    @Mapping(target = "taskLabelIds", ignore = true)
+    public abstract TaskDTO mapWithoutLabels(Task task);
+
+    public TaskDTO map(Task task, List<Long> labelIds) {
+        var dto = mapWithoutLabels(task);
+        dto.setTaskLabelIds(labelIds);
+        return dto;
+    }
+
     @Mapping(source = "assigneeId", target = "assignee")
     @Mapping(source = "status", target = "taskStatus")
     @Mapping(source = "title", target = "name")
@@ -56,12 +72,12 @@ public abstract class TaskMapper {
     public abstract void update(TaskUpdateDTO update, @MappingTarget Task task);
 
     public TaskStatus toEntity(String slug) {
-        return taskStatusRepository.findBySlug(slug)
+        return referenceDataCache.findStatus(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Status not found"));
     }
 
     public List<Label> toEntities(List<Long> labelIds) {
-        return labelRepository.findByIdIn(labelIds);
+        return referenceDataCache.findLabels(labelIds);
     }
 
     public List<Long> toIds(Set<Label> labels) {
@@ -12,6 +12,7 @@ import org.mapstruct.MappingConstants;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.ReportingPolicy;
+import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -31,6 +32,7 @@ public abstract class UserMapper {
 
     public abstract UserDTO map(User model);
 
+    @Mapping(target = "passwordDigest", source = "password")
     public abstract void update(UserUpdateDTO update, @MappingTarget User destination);
 
     @BeforeMapping
@@ -38,4 +40,15 @@ public abstract class UserMapper {
         var rawPassword = data.getPassword();
         data.setPassword(passwordEncoder.encode(rawPassword));
     }
+
+    /**
+     * A missing or null password leaves the current one in place.
+     */
+    @BeforeMapping
+    public void encryptPassword(UserUpdateDTO data) {
+        var rawPassword = data.getPassword() == null ? null : data.getPassword().orElse(null);
+        data.setPassword(rawPassword == null
+                ? JsonNullable.undefined()
+                : JsonNullable.of(passwordEncoder.encode(rawPassword)));
+    }
 }
@@ -1,17 +1,22 @@
 package hexlet.code.model;
 
+import hexlet.code.component.ReferenceDataCacheListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -25,8 +30,10 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Setter
 @Entity
 @Table(name = "labels")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class})
 public class Label implements BaseEntity {
 
     @Id
@@ -42,6 +49,9 @@ public class Label implements BaseEntity {
     @CreatedDate
     private LocalDate createdAt;
 
+    @Version
+    private long version;
+
     @ManyToMany(mappedBy = "labels")
     private Set<Task> tasks = new HashSet<>();
 
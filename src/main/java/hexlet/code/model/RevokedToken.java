@@ -0,0 +1,34 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+
+    private String tokenType;
+
+    public RevokedToken(String id, Instant expiresAt, Instant revokedAt, String tokenType) {
+        this.id = id;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+        this.tokenType = tokenType;
+    }
+}
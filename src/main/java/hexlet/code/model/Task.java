@@ -1,19 +1,31 @@
 package hexlet.code.model;
 
+import hexlet.code.component.TaskQueryCache;
+import hexlet.code.component.TaskQueryCacheListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -21,18 +33,25 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.WITH_REFERENCES, attributeNodes = {
+    @NamedAttributeNode("taskStatus"),
+    @NamedAttributeNode("assignee")
+})
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, TaskQueryCacheListener.class})
 public class Task implements BaseEntity {
 
+    public static final String WITH_REFERENCES = "Task.withReferences";
+
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     @ToString.Include
     @EqualsAndHashCode.Include
     private long id;
@@ -44,16 +63,30 @@ public class Task implements BaseEntity {
 
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private TaskStatus taskStatus;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private User assignee;
 
     @CreatedDate
+    @Column(nullable = false)
     private LocalDate createdAt;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Version
+    private long version;
+
+    @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @JoinTable(name = "tasks_labels",
+            joinColumns = @JoinColumn(name = "task_id"),
+            inverseJoinColumns = @JoinColumn(name = "labels_id"))
     private Set<Label> labels = new HashSet<>();
+
+    /**
+     * Filterable state as loaded, so {@link TaskQueryCacheListener} can evict the filters an update leaves.
+     */
+    @Transient
+    private TaskQueryCache.Snapshot loadedSnapshot;
 }
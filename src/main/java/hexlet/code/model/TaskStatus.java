@@ -1,15 +1,22 @@
 package hexlet.code.model;
 
+import hexlet.code.component.ReferenceDataCacheListener;
+import hexlet.code.component.TaskQueryCacheListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -21,8 +28,10 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @Setter
 @Entity
 @Table(name = "task_status")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString(includeFieldNames = true, onlyExplicitlyIncluded = true)
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class, TaskQueryCacheListener.class})
 public class TaskStatus implements BaseEntity {
 
     @Id
@@ -41,4 +50,13 @@ public class TaskStatus implements BaseEntity {
     @CreatedDate
     private LocalDate createdAt;
 
+    @Version
+    private long version;
+
+    /**
+     * Slug as loaded, so {@link TaskQueryCacheListener} can evict the filters on the old slug.
+     */
+    @Transient
+    private String loadedSlug;
+
 }
@@ -0,0 +1,31 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Tokens of the user issued before {@code notBefore} are considered revoked.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "token_watermarks")
+public class TokenWatermark {
+
+    @Id
+    private Long userId;
+
+    private Instant notBefore;
+
+    public TokenWatermark(Long userId, Instant notBefore) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+    }
+}
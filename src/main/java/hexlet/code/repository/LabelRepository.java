@@ -1,8 +1,10 @@
 package hexlet.code.repository;
 
 
+import hexlet.code.dto.EntityVersionDTO;
 import hexlet.code.model.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,7 @@ import java.util.Optional;
 public interface LabelRepository extends JpaRepository<Label, Long> {
     Optional<Label> findByName(String name);
     List<Label> findByIdIn(List<Long> ids);
+
+    @Query("select new hexlet.code.dto.EntityVersionDTO(l.id, l.version) from Label l order by l.id")
+    List<EntityVersionDTO> findVersions();
 }
@@ -0,0 +1,37 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select t from RevokedToken t "
+            + "where t.tokenType = :tokenType and t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedSince(@Param("tokenType") String tokenType, @Param("since") Instant since,
+                                              @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "insert into revoked_tokens (id, expires_at, revoked_at, token_type) "
+            + "values (:id, :expiresAt, :revokedAt, :tokenType)", nativeQuery = true)
+    void insert(@Param("id") String id, @Param("expiresAt") Instant expiresAt,
+                @Param("revokedAt") Instant revokedAt, @Param("tokenType") String tokenType);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
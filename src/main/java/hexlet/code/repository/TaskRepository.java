@@ -1,15 +1,69 @@
 package hexlet.code.repository;
 
 
+import hexlet.code.dto.TaskLabelIdDTO;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     Optional<Task> findByTaskStatusSlug(String slug);
+
+    @Override
+    @EntityGraph(Task.WITH_REFERENCES)
+    List<Task> findAll(Specification<Task> spec);
+
+    @Query("select new hexlet.code.dto.TaskLabelIdDTO(t.id, l.id) from Task t join t.labels l where t.id in :taskIds")
+    List<TaskLabelIdDTO> findLabelIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :status, t.version = t.version + 1 where t.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.assignee = :assignee, t.version = t.version + 1 where t.id in :ids")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.assignee = null, t.version = t.version + 1 where t.id in :ids")
+    int clearAssignee(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.version = t.version + 1 where t.id in :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_labels"))
+    @Query(value = """
+            insert into tasks_labels (task_id, labels_id)
+            select t.id, l.id from tasks t cross join labels l
+            where t.id in :ids and l.id in :labelIds
+              and not exists (select 1 from tasks_labels tl where tl.task_id = t.id and tl.labels_id = l.id)
+            """, nativeQuery = true)
+    int addLabels(@Param("ids") Collection<Long> ids, @Param("labelIds") Collection<Long> labelIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_labels"))
+    @Query(value = "delete from tasks_labels where task_id in :ids and labels_id in :labelIds", nativeQuery = true)
+    int removeLabels(@Param("ids") Collection<Long> ids, @Param("labelIds") Collection<Long> labelIds);
 }
@@ -1,14 +1,20 @@
 package hexlet.code.repository;
 
 
+import hexlet.code.dto.EntityVersionDTO;
 import hexlet.code.model.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
     Optional<TaskStatus> findBySlug(String slug);
+
+    @Query("select new hexlet.code.dto.EntityVersionDTO(s.id, s.version) from TaskStatus s order by s.id")
+    List<EntityVersionDTO> findVersions();
 }
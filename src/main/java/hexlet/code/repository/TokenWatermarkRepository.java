@@ -0,0 +1,23 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TokenWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenWatermarkRepository extends JpaRepository<TokenWatermark, Long> {
+
+    List<TokenWatermark> findByNotBeforeAfter(Instant since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenWatermark w where w.notBefore < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -1,14 +1,30 @@
 package hexlet.code.repository;
 
 
+import hexlet.code.dto.EntityVersionDTO;
 import hexlet.code.model.User;
+import hexlet.code.security.AuthenticatedUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("select new hexlet.code.security.AuthenticatedUser(u.id, u.email) from User u where u.email = :email")
+    Optional<AuthenticatedUser> findPrincipalByEmail(@Param("email") String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new hexlet.code.dto.EntityVersionDTO(u.id, u.version) from User u order by u.id")
+    List<EntityVersionDTO> findVersions();
 }
@@ -0,0 +1,7 @@
+package hexlet.code.security;
+
+/**
+ * Identity of the caller as needed by authorization checks, detached from the JPA {@link hexlet.code.model.User}.
+ */
+public record AuthenticatedUser(long id, String email) {
+}
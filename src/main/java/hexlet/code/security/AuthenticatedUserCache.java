@@ -0,0 +1,65 @@
+package hexlet.code.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.component.PrimaryReads;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cross-request cache of principals keyed by email. Entries are evicted by {@link AuthenticatedUserListener}
+ * whenever the user is updated or deleted in this process, and expire after {@code security.principal-cache.ttl}
+ * so changes made by other instances are picked up. Unknown emails are not cached.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    public AuthenticatedUserCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                                  @Value("${security.principal-cache.ttl:PT30S}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.principal");
+    }
+
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        var cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var observed = generation.get();
+        var loaded = primaryReads.read(() -> userRepository.findPrincipalByEmail(email));
+        loaded.ifPresent(user -> {
+            cache.put(email, user);
+            if (generation.get() != observed) {
+                cache.invalidate(email);
+            }
+        });
+        return loaded;
+    }
+
+    public void evict(long id) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(user -> user.id() == id);
+    }
+}
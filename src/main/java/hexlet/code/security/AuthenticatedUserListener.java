@@ -0,0 +1,31 @@
+package hexlet.code.security;
+
+import hexlet.code.model.User;
+import hexlet.code.utils.TransactionUtils;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+public class AuthenticatedUserListener {
+
+    @Lazy
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Lazy
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        var id = user.getId();
+        Runnable evict = () -> {
+            authenticatedUserCache.evict(id);
+            verifiedCredentialCache.evictUser(id);
+        };
+        evict.run();
+        TransactionUtils.afterCommit(evict);
+    }
+}
@@ -0,0 +1,45 @@
+package hexlet.code.security;
+
+import hexlet.code.model.User;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Skips the user lookup and password check of the delegate for credentials it has verified recently.
+ * Only successful authentications are cached; failures always reach the delegate.
+ */
+public final class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, VerifiedCredentialCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!cache.isEnabled() || authentication.getName() == null
+                || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        var key = cache.keyOf(authentication.getName(), password);
+        var cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        var observed = cache.generation();
+        var result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof User user) {
+            cache.put(key, user.getId(), result, observed);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
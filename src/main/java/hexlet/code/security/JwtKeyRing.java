@@ -0,0 +1,110 @@
+package hexlet.code.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import hexlet.code.component.JwtKeyProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The key that signs new tokens plus every key whose tokens are still accepted. Rotating keys means adding a
+ * new key, making it active, and keeping the previous one (public part only is enough) until its tokens
+ * have expired.
+ */
+public final class JwtKeyRing {
+
+    private final JWK signingKey;
+    private final List<JWK> verificationKeys;
+
+    public JwtKeyRing(JWK signingKey, List<JWK> verificationKeys) {
+        this.signingKey = signingKey;
+        this.verificationKeys = verificationKeys.stream()
+                .map(JWK::toPublicJWK)
+                .toList();
+    }
+
+    public static JwtKeyRing load(JwtKeyProperties properties) {
+        JWK active = null;
+        var keys = new ArrayList<JWK>();
+        for (JwtKeyProperties.Key key : properties.getKeys()) {
+            var type = key.getType();
+            var publicKey = readPublicKey(type, key.getPublicKey());
+            var privateKey = key.getPrivateKey() == null ? null : readPrivateKey(type, key.getPrivateKey());
+            var jwk = type.toJwk(key.getId(), publicKey, privateKey);
+            keys.add(jwk);
+            if (key.getId().equals(properties.getActiveKey())) {
+                if (privateKey == null) {
+                    throw new IllegalStateException("Active JWT key " + key.getId() + " has no private key");
+                }
+                active = jwk;
+            }
+        }
+        if (active == null) {
+            throw new IllegalStateException("Active JWT key " + properties.getActiveKey() + " is not configured");
+        }
+        return new JwtKeyRing(active, keys);
+    }
+
+    public JwtEncoder encoder() {
+        try {
+            return new KeyRingJwtEncoder(signingKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot create JWT signer", e);
+        }
+    }
+
+    public JwtDecoder decoder(OAuth2TokenValidator<Jwt> validator) {
+        try {
+            var decoder = new NimbusJwtDecoder(new KeyRingJwtProcessor(verificationKeys));
+            decoder.setJwtValidator(validator);
+            return decoder;
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot create JWT verifiers", e);
+        }
+    }
+
+    private static PublicKey readPublicKey(JwtKeyType type, Resource resource) {
+        try {
+            return KeyFactory.getInstance(type.getKeyAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid public key " + resource, e);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(JwtKeyType type, Resource resource) {
+        try {
+            return KeyFactory.getInstance(type.getKeyAlgorithm())
+                    .generatePrivate(new PKCS8EncodedKeySpec(readPem(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid private key " + resource, e);
+        }
+    }
+
+    private static byte[] readPem(Resource resource) {
+        try {
+            var pem = resource.getContentAsString(StandardCharsets.US_ASCII)
+                    .replaceAll("-----[A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read key " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hexlet.code.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import lombok.Getter;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+
+@Getter
+public enum JwtKeyType {
+    RSA("RSA", JWSAlgorithm.RS256),
+    ES256("EC", JWSAlgorithm.ES256),
+    ED25519("Ed25519", JWSAlgorithm.EdDSA);
+
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final String keyAlgorithm;
+    private final JWSAlgorithm jwsAlgorithm;
+
+    JwtKeyType(String keyAlgorithm, JWSAlgorithm jwsAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.jwsAlgorithm = jwsAlgorithm;
+    }
+
+    /**
+     * Builds the JWK for a key pair of this type. The private key may be null for keys that are only kept
+     * to verify tokens signed before a rotation.
+     */
+    public JWK toJwk(String keyId, PublicKey publicKey, PrivateKey privateKey) {
+        return switch (this) {
+            case RSA -> {
+                var builder = new RSAKey.Builder((RSAPublicKey) publicKey);
+                if (privateKey != null) {
+                    builder.privateKey((RSAPrivateKey) privateKey);
+                }
+                yield builder.keyID(keyId).algorithm(jwsAlgorithm).keyUse(KeyUse.SIGNATURE).build();
+            }
+            case ES256 -> {
+                var builder = new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey);
+                if (privateKey != null) {
+                    builder.privateKey((ECPrivateKey) privateKey);
+                }
+                yield builder.keyID(keyId).algorithm(jwsAlgorithm).keyUse(KeyUse.SIGNATURE).build();
+            }
+            case ED25519 -> {
+                var builder = new OctetKeyPair.Builder(Curve.Ed25519,
+                        Base64URL.encode(rawEd25519(publicKey.getEncoded())));
+                if (privateKey != null) {
+                    builder.d(Base64URL.encode(rawEd25519(privateKey.getEncoded())));
+                }
+                yield builder.keyID(keyId).algorithm(jwsAlgorithm).keyUse(KeyUse.SIGNATURE).build();
+            }
+        };
+    }
+
+    // X.509 and PKCS#8 encodings of Ed25519 keys end with the 32 raw key bytes
+    private static byte[] rawEd25519(byte[] encoded) {
+        return Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+    }
+}
@@ -0,0 +1,72 @@
+package hexlet.code.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Signs tokens with the active key of a {@link JwtKeyRing}, setting {@code alg} and {@code kid} from that key.
+ * Any header passed in the parameters is ignored.
+ */
+public final class KeyRingJwtEncoder implements JwtEncoder {
+
+    private final JWSHeader header;
+    private final JWSSigner signer;
+
+    public KeyRingJwtEncoder(JWK signingKey) throws JOSEException {
+        this.header = new JWSHeader.Builder(JWSAlgorithm.parse(signingKey.getAlgorithm().getName()))
+                .keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build();
+        this.signer = signer(signingKey);
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        var claims = parameters.getClaims();
+        var builder = new JWTClaimsSet.Builder();
+        claims.getClaims().forEach((name, value) -> builder.claim(name, value instanceof Instant instant
+                ? Date.from(instant)
+                : value));
+        var jwt = new SignedJWT(header, builder.build());
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign the JWT", e);
+        }
+        return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(),
+                Map.copyOf(header.toJSONObject()), claims.getClaims());
+    }
+
+    private static JWSSigner signer(JWK key) throws JOSEException {
+        if (key instanceof RSAKey rsaKey) {
+            return new RSASSASigner(rsaKey);
+        }
+        if (key instanceof ECKey ecKey) {
+            return new ECDSASigner(ecKey);
+        }
+        if (key instanceof OctetKeyPair octetKeyPair) {
+            return new Ed25519Signer(octetKeyPair);
+        }
+        throw new JOSEException("Unsupported key type " + key.getKeyType());
+    }
+}
@@ -0,0 +1,104 @@
+package hexlet.code.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.proc.JWTProcessor;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies signed JWTs against a fixed set of keys of mixed types. A token is checked only against keys whose
+ * configured algorithm equals the header {@code alg}, and against the key named by {@code kid} when present.
+ * Tokens issued before key ids were introduced carry no {@code kid} and are tried against every key of
+ * their algorithm. Claim validation is left to the validators of the surrounding decoder.
+ */
+public final class KeyRingJwtProcessor implements JWTProcessor<SecurityContext> {
+
+    private final List<Verification> verifications;
+
+    public KeyRingJwtProcessor(List<JWK> keys) throws JOSEException {
+        this.verifications = new ArrayList<>(keys.size());
+        for (JWK key : keys) {
+            verifications.add(new Verification(key, verifier(key)));
+        }
+    }
+
+    @Override
+    public JWTClaimsSet process(String token, SecurityContext context)
+            throws ParseException, BadJOSEException, JOSEException {
+        return process(JWTParser.parse(token), context);
+    }
+
+    @Override
+    public JWTClaimsSet process(JWT jwt, SecurityContext context) throws BadJOSEException, JOSEException {
+        if (jwt instanceof SignedJWT signed) {
+            return process(signed, context);
+        }
+        throw new BadJOSEException("Only signed JWTs are accepted");
+    }
+
+    @Override
+    public JWTClaimsSet process(PlainJWT jwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJOSEException("Unsigned JWTs are not accepted");
+    }
+
+    @Override
+    public JWTClaimsSet process(SignedJWT jwt, SecurityContext context) throws BadJOSEException, JOSEException {
+        var header = jwt.getHeader();
+        for (Verification verification : verifications) {
+            var key = verification.key();
+            if (!header.getAlgorithm().equals(key.getAlgorithm())
+                    || header.getKeyID() != null && !header.getKeyID().equals(key.getKeyID())) {
+                continue;
+            }
+            if (jwt.verify(verification.verifier())) {
+                try {
+                    return jwt.getJWTClaimsSet();
+                } catch (ParseException e) {
+                    throw new BadJWTException("Invalid JWT claims", e);
+                }
+            }
+        }
+        throw new BadJWSException("Signed JWT rejected: no matching key or invalid signature");
+    }
+
+    @Override
+    public JWTClaimsSet process(EncryptedJWT jwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJOSEException("Encrypted JWTs are not accepted");
+    }
+
+    private static JWSVerifier verifier(JWK key) throws JOSEException {
+        if (key instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey);
+        }
+        if (key instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey);
+        }
+        if (key instanceof OctetKeyPair octetKeyPair) {
+            return new Ed25519Verifier(octetKeyPair.toPublicJWK());
+        }
+        throw new JOSEException("Unsupported key type " + key.getKeyType());
+    }
+
+    private record Verification(JWK key, JWSVerifier verifier) {
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.security;
+
+import hexlet.code.exception.PasswordHashingRejectedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers 503 with {@code Retry-After} when password hashing is rejected inside the security filter chain,
+ * as it is while checking HTTP Basic credentials. The exception is not an {@code AuthenticationException},
+ * so the authentication filters let it through and it would otherwise end up as a 500. Rejections in
+ * controllers are handled by {@code GlobalExceptionHandler}.
+ */
+public final class PasswordHashingRejectedFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (PasswordHashingRejectedException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(e.getMessage());
+        }
+    }
+}
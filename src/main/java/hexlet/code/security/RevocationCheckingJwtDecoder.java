@@ -0,0 +1,30 @@
+package hexlet.code.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Rejects tokens found in the {@link TokenRevocationList}. It has to sit outside any caching decoder so
+ * that a token revoked after its first use is not served from the cache.
+ */
+public final class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationList revocationList;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationList revocationList) {
+        this.delegate = delegate;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        var jwt = delegate.decode(token);
+        if (revocationList.isRevoked(jwt)) {
+            throw new BadJwtException("Token has been revoked");
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,123 @@
+package hexlet.code.security;
+
+import hexlet.code.model.TokenWatermark;
+import hexlet.code.repository.RevokedTokenRepository;
+import hexlet.code.repository.TokenWatermarkRepository;
+import hexlet.code.utils.JWTUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access token ids and per-user "issued before" watermarks, held in memory so checking a token never
+ * touches the database. Revocations are written through to the revoked_tokens and token_watermarks tables
+ * and other instances pick them up on the next {@link #sync()}. Entries are dropped once no token they
+ * could match is still valid.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final Map<String, Instant> revokedIds = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> notBefore = new ConcurrentHashMap<>();
+    private final Duration maxTokenLifetime;
+    private volatile Instant syncedAt = Instant.EPOCH;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private TokenWatermarkRepository tokenWatermarkRepository;
+
+    public TokenRevocationList(@Value("${security.refresh-token.ttl:P30D}") Duration maxTokenLifetime) {
+        this.maxTokenLifetime = maxTokenLifetime;
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        if (jwt.getId() != null && revokedIds.containsKey(jwt.getId())) {
+            return true;
+        }
+        if (!(jwt.getClaim(JWTUtils.USER_ID_CLAIM) instanceof Number userId)) {
+            return false;
+        }
+        var cutoff = notBefore.get(userId.longValue());
+        var issuedAt = issuedAt(jwt);
+        return cutoff != null && (issuedAt == null || issuedAt.isBefore(cutoff));
+    }
+
+    /**
+     * Revokes the token and reports whether this call did it. Only one of several concurrent callers, on any
+     * instance, can win, which makes it suitable for single-use tokens. Only access token ids are kept in
+     * memory: refresh tokens never reach the bearer check, and their single use rests on the insert alone.
+     */
+    public boolean revoke(Jwt jwt) {
+        var now = Instant.now();
+        var tokenType = JWTUtils.REFRESH_TOKEN.equals(jwt.getClaimAsString(JWTUtils.TOKEN_TYPE_CLAIM))
+                ? JWTUtils.REFRESH_TOKEN
+                : JWTUtils.ACCESS_TOKEN;
+        if (tokenType.equals(JWTUtils.ACCESS_TOKEN)) {
+            revokedIds.put(jwt.getId(), jwt.getExpiresAt());
+        }
+        try {
+            revokedTokenRepository.insert(jwt.getId(), jwt.getExpiresAt(), now, tokenType);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user so far. The cutoff has microsecond precision and is compared
+     * with the token's {@link JWTUtils#ISSUED_AT_MICROS_CLAIM}, so a token issued right afterwards, even
+     * within the same second, stays valid. Tokens without that claim fall back to their second-precision
+     * {@code iat} and are revoked when it is before the cutoff.
+     */
+    public void revokeAll(long userId) {
+        var cutoff = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        notBefore.merge(userId, cutoff, (current, next) -> next.isAfter(current) ? next : current);
+        tokenWatermarkRepository.save(new TokenWatermark(userId, cutoff));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT30S}",
+            initialDelayString = "${security.revocation.sync-interval:PT30S}")
+    public void sync() {
+        var now = Instant.now();
+        var since = syncedAt.minus(SYNC_OVERLAP);
+        revokedTokenRepository.findActiveRevokedSince(JWTUtils.ACCESS_TOKEN, since, now)
+                .forEach(token -> revokedIds.put(token.getId(), token.getExpiresAt()));
+        tokenWatermarkRepository.findByNotBeforeAfter(since)
+                .forEach(watermark -> notBefore.merge(watermark.getUserId(), watermark.getNotBefore(),
+                        (current, next) -> next.isAfter(current) ? next : current));
+        revokedIds.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        notBefore.values().removeIf(cutoff -> cutoff.plus(maxTokenLifetime).isBefore(now));
+        syncedAt = now;
+    }
+
+    private static Instant issuedAt(Jwt jwt) {
+        if (jwt.getClaim(JWTUtils.ISSUED_AT_MICROS_CLAIM) instanceof Number micros) {
+            return Instant.EPOCH.plus(micros.longValue(), ChronoUnit.MICROS);
+        }
+        return jwt.getIssuedAt();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:PT1H}",
+            initialDelayString = "${security.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        var now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        tokenWatermarkRepository.deleteOlderThan(now.minus(maxTokenLifetime));
+    }
+}
@@ -0,0 +1,33 @@
+package hexlet.code.security;
+
+import hexlet.code.utils.JWTUtils;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Checks the token_type claim, so a refresh token cannot be used as a bearer token and the other way round.
+ * Access tokens issued before the claim existed carry no type and are accepted as access tokens.
+ */
+public record TokenTypeValidator(String expectedType, boolean acceptUntyped) implements OAuth2TokenValidator<Jwt> {
+
+    public static TokenTypeValidator accessTokens() {
+        return new TokenTypeValidator(JWTUtils.ACCESS_TOKEN, true);
+    }
+
+    public static TokenTypeValidator refreshTokens() {
+        return new TokenTypeValidator(JWTUtils.REFRESH_TOKEN, false);
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        var type = jwt.getClaimAsString(JWTUtils.TOKEN_TYPE_CLAIM);
+        if (type == null ? acceptUntyped : type.equals(expectedType)) {
+            return OAuth2TokenValidatorResult.success();
+        }
+        return OAuth2TokenValidatorResult.failure(new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+                "Expected a " + expectedType + " token", null));
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in cache of successful username/password verifications. Keys are an HMAC of the credentials under a
+ * per-process random key, so neither passwords nor unsalted hashes of them are kept in memory.
+ * Entries live for a short TTL and are evicted by {@link AuthenticatedUserListener} whenever the user changes.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Getter
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final SecretKeySpec key;
+    private final AtomicLong generation = new AtomicLong();
+
+    public VerifiedCredentialCache(@Value("${security.basic-auth-cache.enabled:false}") boolean enabled,
+                                   @Value("${security.basic-auth-cache.ttl:PT1M}") Duration ttl,
+                                   @Value("${security.basic-auth-cache.max-size:1000}") long maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.basic-auth");
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Authentication get(String credentialKey) {
+        var entry = cache.getIfPresent(credentialKey);
+        return entry == null ? null : entry.authentication();
+    }
+
+    public void put(String credentialKey, long userId, Authentication authentication, long observedGeneration) {
+        cache.put(credentialKey, new Entry(userId, authentication));
+        if (generation.get() != observedGeneration) {
+            cache.invalidate(credentialKey);
+        }
+    }
+
+    public void evictUser(long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(entry -> entry.userId() == userId);
+    }
+
+    public String keyOf(String username, String password) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(long userId, Authentication authentication) {
+    }
+}
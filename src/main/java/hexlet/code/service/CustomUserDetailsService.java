@@ -31,6 +31,8 @@ public class CustomUserDetailsService implements UserDetailsManager {
         user.setEmail(userData.getUsername());
         var hashedPassword = passwordEncoder.encode(userData.getPassword());
         user.setPasswordDigest(hashedPassword);
+        user.setAdmin(userData.getAuthorities().stream()
+                .anyMatch(authority -> User.ADMIN_AUTHORITY.equals(authority.getAuthority())));
         userRepository.save(user);
     }
 
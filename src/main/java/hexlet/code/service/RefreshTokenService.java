@@ -0,0 +1,104 @@
+package hexlet.code.service;
+
+import hexlet.code.component.PrimaryReads;
+import hexlet.code.dto.TokenPairDTO;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.security.AuthenticatedUser;
+import hexlet.code.security.JwtKeyRing;
+import hexlet.code.security.TokenRevocationList;
+import hexlet.code.security.TokenTypeValidator;
+import hexlet.code.utils.JWTUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.Objects;
+
+@Service
+public class RefreshTokenService {
+
+    private final JwtDecoder refreshTokenDecoder;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    public RefreshTokenService(JwtKeyRing jwtKeyRing) {
+        this.refreshTokenDecoder = jwtKeyRing.decoder(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(), TokenTypeValidator.refreshTokens()));
+    }
+
+    public TokenPairDTO issue(AuthenticatedUser user, Collection<? extends GrantedAuthority> authorities) {
+        return new TokenPairDTO(jwtUtils.generateToken(user, authorities),
+                jwtUtils.generateRefreshToken(user, authorities));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token pair. The presented refresh token is
+     * revoked in the process, so each one can be used exactly once. The authorities are reloaded from the
+     * user rather than copied from the old token, so changed rights reach clients that keep refreshing.
+     */
+    public TokenPairDTO refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = refreshTokenDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw unauthorized("Invalid refresh token");
+        }
+        if (!(jwt.getClaim(JWTUtils.USER_ID_CLAIM) instanceof Number userId) || jwt.getId() == null) {
+            throw unauthorized("Invalid refresh token");
+        }
+        var email = jwt.getSubject();
+        var user = primaryReads.read(() -> userRepository.findByEmail(email))
+                .filter(found -> found.getId() == userId.longValue())
+                .orElseThrow(() -> unauthorized("Invalid refresh token"));
+        if (tokenRevocationList.isRevoked(jwt)
+                || !tokenRevocationList.revoke(jwt)) {
+            throw unauthorized("Refresh token has been revoked");
+        }
+        return issue(new AuthenticatedUser(user.getId(), user.getEmail()), user.getAuthorities());
+    }
+
+    /**
+     * Revokes the access token and, when given, the refresh token issued along with it. A refresh token
+     * that is invalid or belongs to another user is ignored.
+     */
+    public void revoke(Jwt accessToken, String refreshToken) {
+        if (accessToken.getId() != null) {
+            tokenRevocationList.revoke(accessToken);
+        }
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        try {
+            var jwt = refreshTokenDecoder.decode(refreshToken);
+            if (jwt.getId() != null
+                    && Objects.equals(jwt.getClaim(JWTUtils.USER_ID_CLAIM),
+                            accessToken.getClaim(JWTUtils.USER_ID_CLAIM))) {
+                tokenRevocationList.revoke(jwt);
+            }
+        } catch (JwtException e) {
+            // nothing to revoke
+        }
+    }
+
+    private static ResponseStatusException unauthorized(String reason) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, reason);
+    }
+}
@@ -1,19 +1,62 @@
 package hexlet.code.service;
 
 
+import hexlet.code.component.PrimaryReads;
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.component.TaskQueryCache;
+import hexlet.code.dto.TaskBulkResultDTO;
+import hexlet.code.dto.TaskBulkUpdateDTO;
+import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskLabelIdDTO;
+import hexlet.code.dto.TaskListDTO;
+import hexlet.code.dto.TaskPageDTO;
+import hexlet.code.dto.TaskPageParamsDTO;
 import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.exception.ResourceNotFoundException;
 import hexlet.code.mapper.TaskMapper;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.specification.TaskCursor;
+import hexlet.code.specification.TaskSortKey;
 import hexlet.code.specification.TaskSpecifications;
+import hexlet.code.utils.EntityTags;
+import hexlet.code.utils.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 public class TaskService {
 
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int LABEL_ID_BATCH_SIZE = 1000;
+    private static final int BULK_ID_BATCH_SIZE = 1000;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -21,12 +64,243 @@ public class TaskService {
     private TaskMapper taskMapper;
     @Autowired
     private TaskSpecifications taskSpecifications;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TaskQueryCache taskQueryCache;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PrimaryReads primaryReads;
+
+    public TaskListDTO getAll(TaskParamsDTO params) {
+        return taskQueryCache.get(params, () -> primaryReads.read(() -> {
+            var specification = taskSpecifications.build(params);
+            var tasks = taskRepository.findAll(specification);
+            var etag = EntityTags.weakOf(tasks.stream()
+                    .sorted(Comparator.comparingLong(Task::getId))
+                    .flatMapToLong(task -> LongStream.of(
+                            task.getId(), task.getVersion(), task.getTaskStatus().getVersion()))
+                    .toArray());
+            return new TaskListDTO(toDtos(tasks), etag);
+        }));
+    }
 
-    public List<TaskDTO> getAll(TaskParamsDTO params) {
-        var specification = taskSpecifications.build(params);
-        return taskRepository.findAll(specification).stream()
-                .map(taskMapper::map)
+    /**
+     * Entity tag of the list {@link #getAll} would return, read from the cached result or from the ids and
+     * versions of the matching tasks and their statuses without loading the tasks.
+     */
+    @Transactional(readOnly = true)
+    public String getTag(TaskParamsDTO params) {
+        var cached = taskQueryCache.getIfPresent(params);
+        if (cached != null) {
+            return cached.getEtag();
+        }
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Object[].class);
+        var root = query.from(Task.class);
+        query.multiselect(root.get("id"), root.get("version"), root.get("taskStatus").get("version"))
+                .where(taskSpecifications.build(params).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return EntityTags.weakOf(entityManager.createQuery(query).getResultList().stream()
+                .flatMap(Arrays::stream)
+                .mapToLong(value -> (Long) value)
+                .toArray());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDTO getPage(TaskParamsDTO params, TaskPageParamsDTO pageParams) {
+        var cursor = pageParams.getCursor() == null ? null : TaskCursor.decode(pageParams.getCursor());
+        var sortKey = cursor == null ? TaskSortKey.fromParam(pageParams.getSort()) : cursor.sortKey();
+        var limit = pageParams.effectiveLimit();
+        var filter = taskSpecifications.build(params);
+
+        List<Task> tasks = taskRepository.findBy(filter.and(taskSpecifications.after(cursor)), query -> query
+                .project("taskStatus", "assignee")
+                .sortBy(sortKey.toSort())
+                .limit(limit + 1)
+                .all());
+
+        var hasNext = tasks.size() > limit;
+        var page = hasNext ? tasks.subList(0, limit) : tasks;
+        var nextCursor = hasNext ? TaskCursor.of(sortKey, page.get(page.size() - 1)).encode() : null;
+        var totalCount = pageParams.isCountRequested() ? taskRepository.count(filter) : null;
+
+        return new TaskPageDTO(toDtos(page), nextCursor, totalCount);
+    }
+
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public void export(TaskParamsDTO params, Consumer<TaskDTO> consumer) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Task.class);
+        var root = query.from(Task.class);
+        query.where(taskSpecifications.build(params).toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+
+        Query<Task> scrollQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Task.WITH_REFERENCES))
+                .unwrap(Query.class);
+        try (ScrollableResults<Task> rows = scrollQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+            var chunk = new ArrayList<Task>(EXPORT_FETCH_SIZE);
+            while (rows.next()) {
+                chunk.add(rows.get());
+                if (chunk.size() == EXPORT_FETCH_SIZE) {
+                    toDtos(chunk).forEach(consumer);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            toDtos(chunk).forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public List<Task> createAll(List<TaskCreateDTO> dtos) {
+        Map<String, TaskStatus> statuses = new HashMap<>();
+        for (TaskCreateDTO dto : dtos) {
+            statuses.computeIfAbsent(dto.getStatus(), slug -> referenceDataCache.findStatus(slug)
+                    .orElseThrow(() -> new ResourceNotFoundException("Status not found")));
+        }
+        var assigneeIds = dtos.stream()
+                .map(TaskCreateDTO::getAssigneeId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, User> assignees = userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        if (assignees.size() != assigneeIds.size()) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        var labelIds = dtos.stream()
+                .map(TaskCreateDTO::getTaskLabelIds)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        Map<Long, Label> labels = referenceDataCache.findLabels(labelIds).stream()
+                .collect(Collectors.toMap(Label::getId, Function.identity()));
+
+        var tasks = dtos.stream()
+                .map(dto -> {
+                    var task = taskMapper.mapWithoutReferences(dto);
+                    task.setTaskStatus(statuses.get(dto.getStatus()));
+                    task.setAssignee(dto.getAssigneeId() == null ? null : assignees.get(dto.getAssigneeId()));
+                    if (dto.getTaskLabelIds() != null) {
+                        dto.getTaskLabelIds().stream()
+                                .map(labels::get)
+                                .filter(Objects::nonNull)
+                                .forEach(task.getLabels()::add);
+                    }
+                    return task;
+                })
                 .toList();
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        return tasks;
+    }
+
+    @Transactional
+    public TaskBulkResultDTO bulkUpdate(TaskBulkUpdateDTO dto) {
+        if ((dto.getIds() == null) == (dto.getFilter() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of ids or filter is required");
+        }
+        if (dto.getFilter() != null && !dto.getFilter().hasCriteria()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Filter must have at least one criterion");
+        }
+        if (!dto.hasOperation()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No operation requested");
+        }
+        var status = dto.getStatus() == null ? null : referenceDataCache.findStatus(dto.getStatus())
+                .orElseThrow(() -> new ResourceNotFoundException("Status not found"));
+        var assignee = dto.getAssigneeId().isPresent() && dto.getAssigneeId().get() != null
+                ? userRepository.findById(dto.getAssigneeId().get())
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found"))
+                : null;
+        var addLabelIds = existingLabelIds(dto.getAddLabelIds());
+        var removeLabelIds = dto.getRemoveLabelIds() == null ? List.<Long>of() : dto.getRemoveLabelIds();
+
+        var ids = dto.getIds() != null ? findExistingIds(dto.getIds()) : findIds(dto.getFilter());
+        for (int from = 0; from < ids.size(); from += BULK_ID_BATCH_SIZE) {
+            var batch = ids.subList(from, Math.min(from + BULK_ID_BATCH_SIZE, ids.size()));
+            if (status != null) {
+                taskRepository.updateStatus(batch, status);
+            }
+            if (assignee != null) {
+                taskRepository.updateAssignee(batch, assignee);
+            } else if (dto.getAssigneeId().isPresent()) {
+                taskRepository.clearAssignee(batch);
+            }
+            if (!addLabelIds.isEmpty()) {
+                taskRepository.addLabels(batch, addLabelIds);
+            }
+            if (!removeLabelIds.isEmpty()) {
+                taskRepository.removeLabels(batch, removeLabelIds);
+            }
+            if (!addLabelIds.isEmpty() || !removeLabelIds.isEmpty()) {
+                taskRepository.incrementVersions(batch);
+            }
+        }
+        if (!ids.isEmpty()) {
+            TransactionUtils.afterCommit(taskQueryCache::clear);
+        }
+        return new TaskBulkResultDTO(ids.size());
+    }
+
+    private List<Long> findExistingIds(List<Long> ids) {
+        var distinct = ids.stream().distinct().toList();
+        var existing = new ArrayList<Long>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += BULK_ID_BATCH_SIZE) {
+            var batch = distinct.subList(from, Math.min(from + BULK_ID_BATCH_SIZE, distinct.size()));
+            existing.addAll(taskRepository.findExistingIds(batch));
+        }
+        return existing;
+    }
+
+    private List<Long> findIds(TaskParamsDTO params) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Task.class);
+        query.select(root.get("id"))
+                .where(taskSpecifications.build(params).toPredicate(root, query, cb));
+        var ids = entityManager.createQuery(query)
+                .setMaxResults(TaskBulkUpdateDTO.MAX_TASKS + 1)
+                .getResultList();
+        if (ids.size() > TaskBulkUpdateDTO.MAX_TASKS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Filter matches more than " + TaskBulkUpdateDTO.MAX_TASKS + " tasks");
+        }
+        return ids;
+    }
+
+    private List<Long> existingLabelIds(List<Long> labelIds) {
+        if (labelIds == null || labelIds.isEmpty()) {
+            return List.of();
+        }
+        var distinct = labelIds.stream().distinct().toList();
+        var labels = referenceDataCache.findLabels(distinct);
+        if (labels.size() != distinct.size()) {
+            throw new ResourceNotFoundException("Label not found");
+        }
+        return distinct;
     }
 
+    private List<TaskDTO> toDtos(List<Task> tasks) {
+        var ids = tasks.stream()
+                .map(Task::getId)
+                .toList();
+        Map<Long, List<Long>> labelIds = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LABEL_ID_BATCH_SIZE) {
+            var batch = ids.subList(from, Math.min(from + LABEL_ID_BATCH_SIZE, ids.size()));
+            for (TaskLabelIdDTO row : taskRepository.findLabelIds(batch)) {
+                labelIds.computeIfAbsent(row.getTaskId(), id -> new ArrayList<>()).add(row.getLabelId());
+            }
+        }
+        return tasks.stream()
+                .map(task -> taskMapper.map(task, labelIds.getOrDefault(task.getId(), List.of())))
+                .toList();
+    }
 }
@@ -0,0 +1,129 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.UserCreateDTO;
+import hexlet.code.dto.UserImportErrorDTO;
+import hexlet.code.dto.UserImportResultDTO;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.security.BoundedPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportService {
+
+    static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "insert into users "
+            + "(first_name, last_name, email, password_digest, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Imports the rows that are valid and reports the others by their 1-based position. Passwords are hashed
+     * in parallel and users are inserted in JDBC batches; a batch that hits the unique email constraint is
+     * rolled back and retried row by row, so one conflicting row does not fail its neighbours.
+     */
+    public UserImportResultDTO importUsers(List<UserCreateDTO> users) {
+        List<UserImportErrorDTO> errors = new ArrayList<>();
+        List<ImportRow> rows = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            var user = users.get(i);
+            if (user == null) {
+                errors.add(new UserImportErrorDTO(i + 1, null, "Row is empty"));
+                continue;
+            }
+            var violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                errors.add(new UserImportErrorDTO(i + 1, user.getEmail(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            } else if (!emails.add(user.getEmail())) {
+                errors.add(new UserImportErrorDTO(i + 1, user.getEmail(), "Duplicate email in import"));
+            } else {
+                rows.add(new ImportRow(i + 1, user));
+            }
+        }
+
+        var existing = emails.isEmpty() ? Set.<String>of() : userRepository.findExistingEmails(emails);
+        rows.removeIf(row -> {
+            if (existing.contains(row.user().getEmail())) {
+                errors.add(new UserImportErrorDTO(row.number(), row.user().getEmail(), "Email already exists"));
+                return true;
+            }
+            return false;
+        });
+
+        var hashes = passwordEncoder.encodeAll(rows.stream()
+                .map(row -> row.user().getPassword())
+                .toList());
+        var today = LocalDate.now();
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            var user = rows.get(i).user();
+            args.add(new Object[] {user.getFirstName(), user.getLastName(), user.getEmail(), hashes.get(i),
+                today, today});
+        }
+
+        var imported = 0;
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            var to = Math.min(from + INSERT_BATCH_SIZE, rows.size());
+            imported += insert(rows.subList(from, to), args.subList(from, to), errors);
+        }
+        errors.sort(Comparator.comparingInt(UserImportErrorDTO::getRow));
+        return new UserImportResultDTO(imported, errors);
+    }
+
+    private int insert(List<ImportRow> rows, List<Object[]> args, List<UserImportErrorDTO> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+            return rows.size();
+        } catch (DataIntegrityViolationException e) {
+            var inserted = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, args.get(i));
+                    inserted++;
+                } catch (DuplicateKeyException ex) {
+                    errors.add(new UserImportErrorDTO(rows.get(i).number(), rows.get(i).user().getEmail(),
+                            "Email already exists"));
+                } catch (DataIntegrityViolationException ex) {
+                    errors.add(new UserImportErrorDTO(rows.get(i).number(), rows.get(i).user().getEmail(),
+                            "Row violates a database constraint"));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private record ImportRow(int number, UserCreateDTO user) {
+    }
+}
@@ -0,0 +1,36 @@
+package hexlet.code.specification;
+
+import hexlet.code.model.Task;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key, the last seen value of that key and the last seen id.
+ */
+public record TaskCursor(TaskSortKey sortKey, Comparable<?> value, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(TaskSortKey sortKey, Task task) {
+        return new TaskCursor(sortKey, sortKey.valueOf(task), task.getId());
+    }
+
+    public String encode() {
+        var raw = sortKey.getParam() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = raw.split("\\" + SEPARATOR, 3);
+            var sortKey = TaskSortKey.fromParam(parts[0]);
+            return new TaskCursor(sortKey, sortKey.parse(parts[2]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hexlet.code.specification;
+
+import hexlet.code.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum TaskSortKey {
+
+    CREATED_AT("createdAt", "createdAt", Task::getCreatedAt, LocalDate::parse),
+    INDEX("index", "index", Task::getIndex, Long::valueOf),
+    TITLE("title", "name", Task::getName, value -> value);
+
+    private final String param;
+    private final String attribute;
+    private final Function<Task, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    TaskSortKey(String param, String attribute, Function<Task, Comparable<?>> extractor,
+                Function<String, Comparable<?>> parser) {
+        this.param = param;
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Sort toSort() {
+        return Sort.by(attribute).and(Sort.by("id"));
+    }
+
+    public Comparable<?> valueOf(Task task) {
+        return extractor.apply(task);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static TaskSortKey fromParam(String param) {
+        if (param == null) {
+            return CREATED_AT;
+        }
+        return Arrays.stream(values())
+                .filter(key -> key.param.equals(param))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported sort key: " + param));
+    }
+}
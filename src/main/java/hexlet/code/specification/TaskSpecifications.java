@@ -1,13 +1,23 @@
 package hexlet.code.specification;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskParamsDTO;
 import hexlet.code.model.Task;
+import jakarta.persistence.criteria.Path;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+
 @Component
 public class TaskSpecifications {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public Specification<Task> build(TaskParamsDTO params) {
         return withTitleCont(params.getTitleCont())
                 .and(withAssigneeId(params.getAssigneeId()))
@@ -15,10 +25,37 @@ public class TaskSpecifications {
                 .and(withLabelId(params.getLabelId()));
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Specification<Task> after(TaskCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            Path<Comparable> key = root.get(cursor.sortKey().getAttribute());
+            Comparable value = cursor.value();
+            return cb.or(
+                    cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(root.get("id"), cursor.id())));
+        };
+    }
+
     private Specification<Task> withTitleCont(String data) {
-        return (root, query, cb) -> data == null
-                ? cb.conjunction()
-                : cb.like(cb.lower(root.get("name")), "%" + data.toLowerCase() + "%");
+        return (root, query, cb) -> {
+            if (data == null) {
+                return cb.conjunction();
+            }
+            return cb.like(cb.lower(root.get("name")), "%" + escapeLike(data.toLowerCase(Locale.ROOT)) + "%",
+                    LIKE_ESCAPE);
+        };
+    }
+
+    /**
+     * Makes {@code %} and {@code _} in the search text match themselves, as the query cache assumes.
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     private Specification<Task> withAssigneeId(Long assigneeId) {
@@ -28,14 +65,26 @@ public class TaskSpecifications {
     }
 
     private Specification<Task> withTaskStatus(String slug) {
-        return (root, query, cb) -> slug == null
-                ? cb.conjunction()
-                : cb.equal(root.get("taskStatus").get("slug"), slug);
+        return (root, query, cb) -> {
+            if (slug == null) {
+                return cb.conjunction();
+            }
+            return referenceDataCache.findStatus(slug)
+                    .map(status -> cb.equal(root.get("taskStatus").get("id"), status.getId()))
+                    .orElseGet(cb::disjunction);
+        };
     }
 
     private Specification<Task> withLabelId(Long labelId) {
-        return (root, query, cb) -> labelId == null
-                ? cb.conjunction()
-                : cb.equal(root.join("labels").get("id"), labelId);
+        return (root, query, cb) -> {
+            if (labelId == null) {
+                return cb.conjunction();
+            }
+            var labelled = query.subquery(Long.class);
+            var task = labelled.from(Task.class);
+            labelled.select(task.get("id"))
+                    .where(cb.equal(task.join("labels").get("id"), labelId));
+            return root.get("id").in(labelled);
+        };
     }
 }
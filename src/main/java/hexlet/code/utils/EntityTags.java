@@ -0,0 +1,91 @@
+package hexlet.code.utils;
+
+import hexlet.code.dto.EntityVersionDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Entity tags derived from {@code @Version} columns. A resource's tag covers the ids and versions of
+ * everything its representation is built from, so it can be computed and compared without mapping or
+ * serializing the body. Single resources get strong tags for {@code If-Match}; collections get weak tags,
+ * which stay valid across negotiated formats and let the server compress them.
+ */
+public final class EntityTags {
+
+    private static final int TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    public static String of(long... values) {
+        return "\"" + hash(values) + "\"";
+    }
+
+    public static String weakOf(long... values) {
+        return "W/\"" + hash(values) + "\"";
+    }
+
+    /**
+     * Weak tag of a collection given as {@code (id, version)} rows ordered by id.
+     */
+    public static String ofVersions(List<EntityVersionDTO> versions) {
+        var values = new long[versions.size() * 2];
+        for (int i = 0; i < versions.size(); i++) {
+            values[2 * i] = versions.get(i).getId();
+            values[2 * i + 1] = versions.get(i).getVersion();
+        }
+        return weakOf(values);
+    }
+
+    private static String hash(long... values) {
+        var buffer = ByteBuffer.allocate(values.length * Long.BYTES);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            return HexFormat.of().formatHex(digest, 0, TAG_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches, using weak comparison as RFC 9110 requires.
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, false);
+    }
+
+    /**
+     * Rejects the write with 412 when an {@code If-Match} header is present and does not strongly match
+     * the current tag. Requests without the header are not conditional.
+     */
+    public static void checkIfMatch(String ifMatch, String etag) {
+        if (ifMatch != null && !matches(ifMatch, etag, true)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Resource has been modified");
+        }
+    }
+
+    private static boolean matches(String header, String etag, boolean strong) {
+        if (header == null) {
+            return false;
+        }
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*")
+                        || candidate.equals(etag) && !etag.startsWith("W/")
+                        || !strong && weakened(candidate).equals(weakened(etag)));
+    }
+
+    private static String weakened(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -1,29 +1,62 @@
 package hexlet.code.utils;
 
+import hexlet.code.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.UUID;
 
 @Component
 public class JWTUtils {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    /**
+     * Issue time in microseconds since the epoch; {@code iat} only has second precision.
+     */
+    public static final String ISSUED_AT_MICROS_CLAIM = "iat_us";
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
     @Autowired
     private JwtEncoder encoder;
 
-    public String generateToken(String username) {
-        Instant now = Instant.now();
+    @Value("${security.refresh-token.ttl:P30D}")
+    private Duration refreshTokenTtl;
+
+    public String generateToken(AuthenticatedUser user, Collection<? extends GrantedAuthority> authorities) {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return encode(user, authorities, ACCESS_TOKEN, issuedAt, issuedAt.plus(1, ChronoUnit.HOURS));
+    }
+
+    public String generateRefreshToken(AuthenticatedUser user, Collection<? extends GrantedAuthority> authorities) {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return encode(user, authorities, REFRESH_TOKEN, issuedAt, issuedAt.plus(refreshTokenTtl));
+    }
+
+    private String encode(AuthenticatedUser user, Collection<? extends GrantedAuthority> authorities, String type,
+                          Instant issuedAt, Instant expiresAt) {
         JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
                 .issuer("self")
-                .issuedAt(now)
-                .expiresAt(now.plus(1, ChronoUnit.HOURS))
-                .subject(username)
+                .issuedAt(issuedAt)
+                .claim(ISSUED_AT_MICROS_CLAIM, ChronoUnit.MICROS.between(Instant.EPOCH, issuedAt))
+                .expiresAt(expiresAt)
+                .subject(user.email())
+                .claim(USER_ID_CLAIM, user.id())
+                .claim(AUTHORITIES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(TOKEN_TYPE_CLAIM, type)
                 .build();
         return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
-
 }
@@ -3,37 +3,61 @@ package hexlet.code.utils;
 
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.security.AuthenticatedUser;
+import hexlet.code.security.AuthenticatedUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class UserUtils {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    private static final String PRINCIPAL_ATTRIBUTE = UserUtils.class.getName() + ".principal";
     private static final String ADMIN_FIRST_NAME = "hexlet";
     private static final String ADMIN_EMAIL = "hexlet@example.com";
     private static final String ADMIN_PASSWORD = "123";
 
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentPrincipal() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
         }
         var email = authentication.getName();
-        return userRepository.findByEmail(email).get();
+        // tokens issued before the uid claim was added fall back to a lookup by email
+        if (authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getClaim(JWTUtils.USER_ID_CLAIM) instanceof Number userId) {
+            return new AuthenticatedUser(userId.longValue(), email);
+        }
+        var request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof AuthenticatedUser cached
+                && cached.email().equals(email)) {
+            return cached;
+        }
+        var principal = authenticatedUserCache.findByEmail(email).orElse(null);
+        if (request != null && principal != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+        return principal;
+    }
+
+    public User getCurrentUser() {
+        var principal = getCurrentPrincipal();
+        return principal == null ? null : userRepository.findById(principal.id()).orElse(null);
     }
 
     public boolean isOwner(Long id) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
-        }
-        var currentUserEmail = authentication.getName();
-        return userRepository.findById(id)
-                .map(user -> user.getEmail().equals(currentUserEmail))
-                .orElse(false);
+        var principal = getCurrentPrincipal();
+        return principal != null && id != null && principal.id() == id;
     }
 
     public User getAdminUser() {
@@ -41,6 +65,7 @@ public class UserUtils {
         adminUser.setFirstName(ADMIN_FIRST_NAME);
         adminUser.setEmail(ADMIN_EMAIL);
         adminUser.setPasswordDigest(UserUtils.ADMIN_PASSWORD);
+        adminUser.setAdmin(true);
         return adminUser;
     }
 }
@@ -0,0 +1,51 @@
+create table users (
+    id bigint generated by default as identity primary key,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255) constraint users_email_key unique,
+    password_digest varchar(255),
+    created_at date,
+    updated_at date
+);
+
+create table task_status (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    slug varchar(255),
+    created_at date
+);
+
+create table labels (
+    id bigint generated by default as identity primary key,
+    name varchar(1000) not null constraint labels_name_key unique,
+    created_at date
+);
+
+create sequence tasks_seq start with 1 increment by 50;
+
+create table tasks (
+    id bigint not null primary key,
+    index bigint not null,
+    name varchar(255) not null,
+    description varchar(255),
+    task_status_id bigint not null constraint tasks_task_status_fk references task_status (id),
+    assignee_id bigint constraint tasks_assignee_fk references users (id),
+    created_at date
+);
+
+create table tasks_labels (
+    task_id bigint not null constraint tasks_labels_task_fk references tasks (id),
+    labels_id bigint not null constraint tasks_labels_label_fk references labels (id),
+    primary key (task_id, labels_id)
+);
+
+create table revoked_tokens (
+    id varchar(255) not null primary key,
+    expires_at timestamp(6) with time zone,
+    revoked_at timestamp(6) with time zone
+);
+
+create table token_watermarks (
+    user_id bigint not null primary key,
+    not_before timestamp(6) with time zone
+);
@@ -0,0 +1,17 @@
+-- Filters in TaskSpecifications, each leading an index that also serves the default created_at sort.
+create index tasks_status_created_idx on tasks (task_status_id, created_at, id);
+create index tasks_assignee_created_idx on tasks (assignee_id, created_at, id);
+create index tasks_labels_label_idx on tasks_labels (labels_id, task_id);
+create index task_status_slug_idx on task_status (slug);
+
+-- Keyset pagination orders from TaskSortKey.
+create index tasks_created_idx on tasks (created_at, id);
+create index tasks_index_idx on tasks (index, id);
+create index tasks_name_idx on tasks (name, id);
+
+-- TokenRevocationList sync and purge.
+create index revoked_tokens_revoked_idx on revoked_tokens (revoked_at);
+create index revoked_tokens_expires_idx on revoked_tokens (expires_at);
+create index token_watermarks_not_before_idx on token_watermarks (not_before);
+
+-- H2 has no expression indexes; case-insensitive title search is narrowed by TaskTitleIndex instead.
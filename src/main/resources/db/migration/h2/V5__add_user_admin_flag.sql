@@ -0,0 +1,3 @@
+-- Administrators get the ADMIN authority, e.g. to revoke another user's tokens.
+alter table users add column admin boolean default false not null;
+update users set admin = true where email = 'hexlet@example.com';
@@ -0,0 +1,4 @@
+alter table users add column version bigint default 0 not null;
+alter table task_status add column version bigint default 0 not null;
+alter table labels add column version bigint default 0 not null;
+alter table tasks add column version bigint default 0 not null;
@@ -0,0 +1,3 @@
+-- Keyset pagination compares created_at directly, so it must never be null.
+update tasks set created_at = current_date where created_at is null;
+alter table tasks alter column created_at set not null;
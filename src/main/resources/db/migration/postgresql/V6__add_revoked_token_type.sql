@@ -0,0 +1,2 @@
+-- Only revoked access tokens are kept in memory; refresh tokens are checked by their insert alone.
+alter table revoked_tokens add column token_type varchar(16) default 'access' not null;
@@ -0,0 +1,134 @@
+package hexlet.code.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load generator: every client runs on its own virtual thread and picks the next operation
+ * by weight as soon as the previous one completes. Latencies recorded during warmup are discarded.
+ */
+public final class LoadGenerator {
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private int totalWeight;
+
+    public LoadGenerator add(String name, int weight, Callable<Boolean> call) {
+        operations.put(name, new Operation(name, weight, call));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Map<String, Result> run(int clients, Duration warmup, Duration duration) throws Exception {
+        var measureFrom = System.nanoTime() + warmup.toNanos();
+        var deadline = measureFrom + duration.toNanos();
+        var futures = new ArrayList<Future<Map<String, Samples>>>(clients);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(measureFrom, deadline)));
+            }
+        }
+
+        Map<String, Samples> merged = new HashMap<>();
+        for (Future<Map<String, Samples>> future : futures) {
+            future.get().forEach((name, samples) -> merged
+                    .computeIfAbsent(name, key -> new Samples())
+                    .addAll(samples));
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String name : operations.keySet()) {
+            results.put(name, merged.getOrDefault(name, new Samples()).toResult(duration));
+        }
+        return results;
+    }
+
+    public static void print(Map<String, Result> results) {
+        System.out.printf("%-16s %9s %7s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms",
+                "p95 ms", "p99 ms");
+        results.forEach((name, result) -> System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                name, result.count(), result.errors(), result.throughput(), result.p50() / 1e6, result.p95() / 1e6,
+                result.p99() / 1e6));
+    }
+
+    private Map<String, Samples> runClient(long measureFrom, long deadline) {
+        Map<String, Samples> samples = new HashMap<>();
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            var operation = pick(random.nextInt(totalWeight));
+            var start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = operation.call().call();
+            } catch (Exception e) {
+                ok = false;
+            }
+            var end = System.nanoTime();
+            if (start >= measureFrom && end <= deadline) {
+                samples.computeIfAbsent(operation.name(), key -> new Samples()).add(end - start, ok);
+            }
+        }
+        return samples;
+    }
+
+    private Operation pick(int value) {
+        var remaining = value;
+        for (Operation operation : operations.values()) {
+            remaining -= operation.weight();
+            if (remaining < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operations registered");
+    }
+
+    private record Operation(String name, int weight, Callable<Boolean> call) {
+    }
+
+    public record Result(long count, long errors, double throughput, long p50, long p95, long p99) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latency, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result toResult(Duration duration) {
+            var sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Result(size, errors, size / (duration.toNanos() / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            var index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares POST /api/tasks/batch with a loop of single POST /api/tasks calls.
+ * Run with {@code ./gradlew benchmark -Dbenchmark.tasks=1000 -Dbenchmark.rounds=5}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"data.initializer.enabled=false", "spring.jpa.show-sql=false"})
+public class TaskBatchCreateBenchmark {
+
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 1000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final int WARMUP_TASKS = 100;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+        if (taskStatusRepository.findBySlug("draft").isEmpty()) {
+            TaskStatus draft = new TaskStatus();
+            draft.setName("Draft");
+            draft.setSlug("draft");
+            taskStatusRepository.save(draft);
+        }
+    }
+
+    @Test
+    public void compareBatchWithSingleCreates() throws Exception {
+        createOneByOne(tasks(WARMUP_TASKS));
+        createBatch(tasks(WARMUP_TASKS));
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            var start = System.nanoTime();
+            createOneByOne(tasks(TASKS));
+            singleNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            createBatch(tasks(TASKS));
+            batchNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("%d tasks x %d rounds%n", TASKS, ROUNDS);
+        System.out.printf("single creates: %.1f ms/round, %.0f tasks/s%n",
+                singleNanos / 1e6 / ROUNDS, TASKS * ROUNDS / (singleNanos / 1e9));
+        System.out.printf("batch create:   %.1f ms/round, %.0f tasks/s%n",
+                batchNanos / 1e6 / ROUNDS, TASKS * ROUNDS / (batchNanos / 1e9));
+    }
+
+    private void createOneByOne(List<TaskCreateDTO> tasks) throws Exception {
+        for (TaskCreateDTO task : tasks) {
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsString(task))
+                            .with(jwt()))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void createBatch(List<TaskCreateDTO> tasks) throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(tasks))
+                        .with(jwt()))
+                .andExpect(status().isCreated());
+    }
+
+    private static List<TaskCreateDTO> tasks(int count) {
+        var tasks = new ArrayList<TaskCreateDTO>(count);
+        for (int i = 0; i < count; i++) {
+            var task = new TaskCreateDTO();
+            task.setIndex(i);
+            task.setTitle("Imported task " + i);
+            task.setStatus("draft");
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,209 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.security.AuthenticatedUser;
+import hexlet.code.service.TaskService;
+import hexlet.code.utils.JWTUtils;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds H2 with a reproducible dataset and drives a weighted mix of task requests over HTTP.
+ * Run with {@code ./gradlew benchmark --tests '*TaskLoadBenchmark' -Dbenchmark.tasks=1000000}.
+ * Other knobs: benchmark.users, benchmark.labels, benchmark.seed, benchmark.clients,
+ * benchmark.warmup-seconds and benchmark.duration-seconds.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"data.initializer.enabled=false", "spring.jpa.show-sql=false"})
+public class TaskLoadBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 1000);
+    private static final int LABELS = Integer.getInteger("benchmark.labels", 50);
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 100_000);
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.duration-seconds", 60));
+    private static final int SEED_CHUNK = 1000;
+    private static final int PAGE_SIZE = 50;
+    private static final List<String> STATUSES = List.of("draft", "to_review", "to_be_fixed", "to_publish",
+            "published");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private long[] userIds;
+    private long[] labelIds;
+    private long[] taskIds;
+    private List<String> words;
+    private String token;
+
+    @Test
+    public void runMixedWorkload() throws Exception {
+        var seedStart = System.nanoTime();
+        seed(new Faker(new Random(SEED)));
+        System.out.printf("seeded %d users, %d labels, %d tasks in %.1f s%n",
+                USERS, LABELS, TASKS, (System.nanoTime() - seedStart) / 1e9);
+
+        var results = new LoadGenerator()
+                .add("GET /tasks?...", 50, this::filter)
+                .add("GET /tasks/{id}", 30, this::show)
+                .add("POST /tasks", 10, this::create)
+                .add("PUT /tasks/{id}", 10, this::update)
+                .run(CLIENTS, WARMUP, DURATION);
+
+        System.out.printf("%d clients, %d s warmup, %d s measured%n",
+                CLIENTS, WARMUP.toSeconds(), DURATION.toSeconds());
+        LoadGenerator.print(results);
+    }
+
+    private void seed(Faker faker) {
+        for (String slug : STATUSES) {
+            if (taskStatusRepository.findBySlug(slug).isEmpty()) {
+                var status = new TaskStatus();
+                status.setName(slug);
+                status.setSlug(slug);
+                taskStatusRepository.save(status);
+            }
+        }
+
+        var digest = passwordEncoder.encode("password");
+        var users = new ArrayList<User>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            var user = new User();
+            user.setFirstName(faker.name().firstName());
+            user.setLastName(faker.name().lastName());
+            user.setEmail("load-" + i + "@example.com");
+            user.setPasswordDigest(digest);
+            users.add(user);
+        }
+        userIds = userRepository.saveAll(users).stream().mapToLong(User::getId).toArray();
+        var first = users.get(0);
+        token = jwtUtils.generateToken(new AuthenticatedUser(first.getId(), first.getEmail()), List.of());
+
+        var labels = new ArrayList<Label>(LABELS);
+        for (int i = 0; i < LABELS; i++) {
+            var label = new Label();
+            label.setName("load-label-" + i);
+            labels.add(label);
+        }
+        labelIds = labelRepository.saveAll(labels).stream().mapToLong(Label::getId).toArray();
+
+        words = faker.lorem().words(200);
+        var random = new Random(SEED);
+        taskIds = new long[TASKS];
+        for (int from = 0; from < TASKS; from += SEED_CHUNK) {
+            var chunk = new ArrayList<TaskCreateDTO>(SEED_CHUNK);
+            for (int i = from; i < Math.min(from + SEED_CHUNK, TASKS); i++) {
+                chunk.add(randomTask(random, i));
+            }
+            var created = taskService.createAll(chunk);
+            for (int i = 0; i < created.size(); i++) {
+                taskIds[from + i] = created.get(i).getId();
+            }
+        }
+    }
+
+    private TaskCreateDTO randomTask(Random random, int index) {
+        var task = new TaskCreateDTO();
+        task.setIndex(index);
+        task.setTitle(words.get(random.nextInt(words.size())) + " " + words.get(random.nextInt(words.size()))
+                + " " + index);
+        task.setContent(words.get(random.nextInt(words.size())));
+        task.setStatus(STATUSES.get(random.nextInt(STATUSES.size())));
+        task.setAssigneeId(random.nextInt(4) == 0 ? null : userIds[random.nextInt(userIds.length)]);
+        task.setTaskLabelIds(List.of(labelIds[random.nextInt(labelIds.length)]));
+        return task;
+    }
+
+    private boolean filter() throws Exception {
+        var random = ThreadLocalRandom.current();
+        var query = new StringBuilder("limit=").append(PAGE_SIZE);
+        switch (random.nextInt(4)) {
+            case 0 -> query.append("&status=").append(STATUSES.get(random.nextInt(STATUSES.size())));
+            case 1 -> query.append("&assigneeId=").append(userIds[random.nextInt(userIds.length)]);
+            case 2 -> query.append("&labelId=").append(labelIds[random.nextInt(labelIds.length)]);
+            default -> query.append("&titleCont=").append(words.get(random.nextInt(words.size())));
+        }
+        return send(request("/api/tasks?" + query).GET());
+    }
+
+    private boolean show() throws Exception {
+        return send(request("/api/tasks/" + randomTaskId()).GET());
+    }
+
+    private boolean create() throws Exception {
+        var body = om.writeValueAsString(randomTask(new Random(ThreadLocalRandom.current().nextLong()), 0));
+        return send(request("/api/tasks").POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private boolean update() throws Exception {
+        var body = om.writeValueAsString(Map.of("title", "updated " + System.nanoTime()));
+        return send(request("/api/tasks/" + randomTaskId()).PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private long randomTaskId() {
+        return taskIds[ThreadLocalRandom.current().nextInt(taskIds.length)];
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private boolean send(HttpRequest.Builder request) throws Exception {
+        var response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+}
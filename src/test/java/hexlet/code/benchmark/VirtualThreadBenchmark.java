@@ -0,0 +1,142 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.security.AuthenticatedUser;
+import hexlet.code.service.TaskService;
+import hexlet.code.utils.JWTUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the same read workload against the application once with Tomcat's platform thread pool and once
+ * with virtual threads, with an artificial delay on every statement to mimic a remote database. The
+ * connection pool is sized to the number of clients so that only the request threads limit concurrency.
+ * Run with {@code ./gradlew benchmark --tests '*VirtualThreadBenchmark' -Dbenchmark.clients=1000}.
+ * Other knobs: benchmark.db-latency-ms, benchmark.tomcat-threads, benchmark.warmup-seconds and
+ * benchmark.duration-seconds. The benchmark task traces pinned virtual threads to stdout.
+ */
+@Tag("benchmark")
+public class VirtualThreadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration DB_LATENCY = Duration.ofMillis(Integer.getInteger("benchmark.db-latency-ms", 20));
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.duration-seconds", 30));
+    private static final int TASKS = 1000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        for (var virtual : List.of(false, true)) {
+            try (var context = start(virtual)) {
+                var target = new Target(context);
+                var results = new LoadGenerator()
+                        .add("GET /tasks/{id}", 70, target::show)
+                        .add("GET /tasks?...", 30, target::filter)
+                        .run(CLIENTS, WARMUP, DURATION);
+                System.out.printf("%s threads: %d clients, %d ms per statement, %d s measured%n",
+                        virtual ? "virtual" : "platform", CLIENTS, DB_LATENCY.toMillis(), DURATION.toSeconds());
+                LoadGenerator.print(results);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        var mode = virtual ? "virtual" : "platform";
+        return new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "server.tomcat.max-connections=" + (CLIENTS * 2),
+                        "spring.datasource.url=jdbc:h2:mem:" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + CLIENTS,
+                        "spring.jpa.show-sql=false",
+                        "data.initializer.enabled=false",
+                        "tasks.query-cache.max-size=0")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource
+                                ? new LatencyInjectingDataSource(dataSource, DB_LATENCY)
+                                : bean;
+                    }
+                }))
+                .run();
+    }
+
+    private final class Target {
+        private final String baseUrl;
+        private final String token;
+        private final long[] taskIds;
+
+        Target(ConfigurableApplicationContext context) {
+            this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            var status = new TaskStatus();
+            status.setName("draft");
+            status.setSlug("draft");
+            context.getBean(TaskStatusRepository.class).save(status);
+
+            var user = new User();
+            user.setEmail("virtual-threads@example.com");
+            user.setPasswordDigest("unused");
+            context.getBean(UserRepository.class).save(user);
+            this.token = context.getBean(JWTUtils.class)
+                    .generateToken(new AuthenticatedUser(user.getId(), user.getEmail()), List.of());
+
+            var dtos = new ArrayList<TaskCreateDTO>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                var dto = new TaskCreateDTO();
+                dto.setTitle("task " + i);
+                dto.setStatus("draft");
+                dto.setAssigneeId(user.getId());
+                dtos.add(dto);
+            }
+            this.taskIds = context.getBean(TaskService.class).createAll(dtos).stream()
+                    .mapToLong(Task::getId)
+                    .toArray();
+        }
+
+        boolean show() throws Exception {
+            var id = taskIds[ThreadLocalRandom.current().nextInt(taskIds.length)];
+            return send("/api/tasks/" + id);
+        }
+
+        boolean filter() throws Exception {
+            return send("/api/tasks?limit=20&titleCont=" + ThreadLocalRandom.current().nextInt(TASKS));
+        }
+
+        private boolean send(String path) throws Exception {
+            var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hexlet.code.component;
+
+import hexlet.code.datasource.ReplicaRoutingDataSource;
+import hexlet.code.datasource.ReplicaSelection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimaryReadsTest {
+
+    private final DataSource primary = database("primary_reads_primary");
+    private final DataSource replica = database("primary_reads_replica");
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+            ReplicaSelection.ROUND_ROBIN, Duration.ofSeconds(5), null, null);
+    private final DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final PrimaryReads primaryReads = new PrimaryReads(transactionManager);
+    private final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+
+    @BeforeEach
+    public void setUp() {
+        for (var target : List.of(primary, replica)) {
+            var database = new JdbcTemplate(target);
+            database.execute("create table if not exists task_statuses (slug varchar(255), name varchar(255))");
+            database.update("delete from task_statuses");
+            database.update("insert into task_statuses values ('draft', 'Draft')");
+        }
+        routing.checkLag();
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    public void testReadAfterWriteSkipsLaggingReplica() {
+        jdbc.update("update task_statuses set name = 'Updated' where slug = 'draft'");
+
+        assertThat(readOnly.execute(status -> name())).isEqualTo("Draft");
+        assertThat(primaryReads.read(() -> readOnly.execute(status -> name()))).isEqualTo("Updated");
+        assertThat(readOnly.execute(status -> primaryReads.read(this::name))).isEqualTo("Updated");
+    }
+
+    private String name() {
+        return jdbc.queryForObject("select name from task_statuses where slug = 'draft'", String.class);
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
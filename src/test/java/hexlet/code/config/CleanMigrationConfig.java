@@ -0,0 +1,26 @@
+package hexlet.code.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The in-memory database is shared by every test context in the JVM, so each context starts from a clean
+ * schema, as it did when Hibernate created the schema itself.
+ */
+@Configuration
+public class CleanMigrationConfig {
+
+    @Bean
+    FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .cleanDisabled(false)
+                    .load()
+                    .clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,258 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.LoginRequestDTO;
+import hexlet.code.dto.RefreshTokenRequestDTO;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"data.initializer.enabled=false"})
+public class AuthControllerTest {
+
+    private static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+        for (var email : List.of("auth@example.com", "revoke@example.com", "admin@example.com",
+                "promote@example.com", "password@example.com")) {
+            var user = userRepository.findByEmail(email).orElseGet(User::new);
+            user.setEmail(email);
+            user.setPasswordDigest(passwordEncoder.encode("password"));
+            user.setAdmin(email.startsWith("admin"));
+            userRepository.save(user);
+        }
+    }
+
+    @Test
+    public void testLoginIssuesRefreshToken() throws Exception {
+        var login = login();
+
+        var accessToken = login.getResponse().getContentAsString();
+        var refreshToken = login.getResponse().getHeader(REFRESH_TOKEN_HEADER);
+        assertThat(refreshToken).isNotBlank();
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRefreshRotatesToken() throws Exception {
+        var refreshToken = login().getResponse().getHeader(REFRESH_TOKEN_HEADER);
+
+        var refreshed = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(header().exists(REFRESH_TOKEN_HEADER))
+                .andReturn();
+        var accessToken = refreshed.getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized());
+        refresh(refreshed.getResponse().getHeader(REFRESH_TOKEN_HEADER))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRefreshRejectsAccessToken() throws Exception {
+        var accessToken = login().getResponse().getContentAsString();
+
+        refresh(accessToken)
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testLogoutRevokesTokens() throws Exception {
+        var login = login();
+        var accessToken = login.getResponse().getContentAsString();
+        var refreshToken = login.getResponse().getHeader(REFRESH_TOKEN_HEADER);
+        var request = new RefreshTokenRequestDTO();
+        request.setRefreshToken(refreshToken);
+
+        mockMvc.perform(post("/api/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized());
+        var newAccessToken = login().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRevokeAllTokens() throws Exception {
+        var user = userRepository.findByEmail("revoke@example.com").orElseThrow();
+        var first = login("revoke@example.com");
+        var second = login("revoke@example.com");
+        var accessToken = first.getResponse().getContentAsString();
+
+        mockMvc.perform(delete("/api/users/" + user.getId() + "/tokens")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + second.getResponse().getContentAsString()))
+                .andExpect(status().isUnauthorized());
+        refresh(second.getResponse().getHeader(REFRESH_TOKEN_HEADER))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testLoginRightAfterRevokeAllTokens() throws Exception {
+        var user = userRepository.findByEmail("revoke@example.com").orElseThrow();
+        var accessToken = login("revoke@example.com").getResponse().getContentAsString();
+
+        mockMvc.perform(delete("/api/users/" + user.getId() + "/tokens")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+        var login = login("revoke@example.com");
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + login.getResponse().getContentAsString()))
+                .andExpect(status().isOk());
+        refresh(login.getResponse().getHeader(REFRESH_TOKEN_HEADER))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRevokeAllTokensOfOtherUser() throws Exception {
+        var user = userRepository.findByEmail("revoke@example.com").orElseThrow();
+
+        mockMvc.perform(delete("/api/users/" + user.getId() + "/tokens")
+                        .header("Authorization", "Bearer " + login().getResponse().getContentAsString()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testAdminRevokesAllTokensOfOtherUser() throws Exception {
+        var user = userRepository.findByEmail("revoke@example.com").orElseThrow();
+        var userToken = login("revoke@example.com").getResponse().getContentAsString();
+        var adminToken = login("admin@example.com").getResponse().getContentAsString();
+
+        mockMvc.perform(delete("/api/users/" + user.getId() + "/tokens")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRefreshReloadsAuthorities() throws Exception {
+        var target = userRepository.findByEmail("revoke@example.com").orElseThrow();
+        var refreshToken = login("promote@example.com").getResponse().getHeader(REFRESH_TOKEN_HEADER);
+        var user = userRepository.findByEmail("promote@example.com").orElseThrow();
+        user.setAdmin(true);
+        userRepository.save(user);
+
+        var accessToken = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        mockMvc.perform(delete("/api/users/" + target.getId() + "/tokens")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testPasswordChangeRevokesTokens() throws Exception {
+        var user = userRepository.findByEmail("password@example.com").orElseThrow();
+        var login = login("password@example.com");
+        var accessToken = login.getResponse().getContentAsString();
+
+        mockMvc.perform(put("/api/users/" + user.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"password\": \"changed\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(login.getResponse().getHeader(REFRESH_TOKEN_HEADER))
+                .andExpect(status().isUnauthorized());
+        var newAccessToken = login("password@example.com", "changed").getResponse().getContentAsString();
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
+
+    private MvcResult login() throws Exception {
+        return login("auth@example.com");
+    }
+
+    private MvcResult login(String username) throws Exception {
+        return login(username, "password");
+    }
+
+    private MvcResult login(String username, String password) throws Exception {
+        var request = new LoginRequestDTO();
+        request.setUsername(username);
+        request.setPassword(password);
+        return mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        var request = new RefreshTokenRequestDTO();
+        request.setRefreshToken(refreshToken);
+        return mockMvc.perform(post("/api/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(request)));
+    }
+}
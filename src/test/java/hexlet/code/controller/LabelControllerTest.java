@@ -17,6 +17,7 @@ import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -195,4 +196,43 @@ public class LabelControllerTest {
                         .content(om.writeValueAsString(createDTO)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void testIndexRevalidatesUntilLabelChanges() throws Exception {
+        var first = mockMvc.perform(get("/api/labels")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        var etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/labels")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isNotModified());
+
+        LabelUpdateDTO updateDTO = new LabelUpdateDTO();
+        updateDTO.setName(JsonNullable.of("Renamed"));
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isPreconditionFailed());
+
+        var shown = mockMvc.perform(get("/api/labels/{id}", testLabel.getId())
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(put("/api/labels/{id}", testLabel.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO))
+                        .header(HttpHeaders.IF_MATCH, shown.getResponse().getHeader(HttpHeaders.ETAG))
+                        .with(jwt()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/labels")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isOk());
+    }
 }
@@ -1,6 +1,9 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import hexlet.code.component.TaskQueryCache;
+import hexlet.code.dto.TaskBulkUpdateDTO;
 import hexlet.code.dto.TaskCreateDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.dto.TaskUpdateDTO;
@@ -13,19 +16,26 @@ import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +45,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(properties = {"data.initializer.enabled=false"})
@@ -66,6 +77,15 @@ public class TaskControllerTest {
     @Autowired
     private TaskMapper taskMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskQueryCache taskQueryCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Task testTask;
 
     @BeforeEach
@@ -77,6 +97,7 @@ public class TaskControllerTest {
 
         taskRepository.deleteAll();
         taskStatusRepository.deleteAll();
+        taskQueryCache.clear();
 
         TaskStatus statusReview = new TaskStatus();
         statusReview.setName("To Review");
@@ -128,6 +149,36 @@ public class TaskControllerTest {
         );
     }
 
+    @Test
+    public void testWarmShowSelectsOnlyTask() throws Exception {
+        var label = new Label();
+        label.setName("CachedLabel");
+        labelRepository.save(label);
+        var user = new User();
+        user.setEmail("cached-assignee@example.com");
+        userRepository.save(user);
+        testTask.setAssignee(user);
+        testTask.getLabels().add(label);
+        taskRepository.save(testTask);
+
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).with(jwt()))
+                .andExpect(status().isOk());
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var result = mockMvc.perform(get("/api/tasks/{id}", testTask.getId()).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(4);
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("assigneeId").isEqualTo(user.getId()),
+                v -> v.node("status").isEqualTo("draft"),
+                v -> v.node("taskLabelIds").isArray().containsExactly(label.getId()));
+    }
+
     @Test
     public void testCreate() throws Exception {
         TaskCreateDTO createDTO = new TaskCreateDTO();
@@ -247,4 +298,395 @@ public class TaskControllerTest {
         assertThatJson(body).isArray().hasSize(1);
         assertThatJson(body).node("[0].title").isEqualTo("Create new version");
     }
+
+    @Test
+    public void testTitleSearchFindsTaskWrittenOutsideJpa() throws Exception {
+        jdbcTemplate.update("update tasks set name = 'Renamed outside' where id = ?", testTask.getId());
+        taskQueryCache.clear();
+
+        var result = mockMvc.perform(get("/api/tasks")
+                        .param("titleCont", "outside")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).isArray().hasSize(1);
+    }
+
+    @Test
+    public void testTitleSearchTreatsWildcardsLiterally() throws Exception {
+        var task = new Task();
+        task.setIndex(400);
+        task.setName("Done 100%");
+        task.setTaskStatus(testTask.getTaskStatus());
+        taskRepository.save(task);
+
+        var result = mockMvc.perform(get("/api/tasks")
+                        .param("titleCont", "%")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        var underscore = mockMvc.perform(get("/api/tasks")
+                        .param("titleCont", "_")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).isArray().hasSize(1);
+        assertThatJson(result.getResponse().getContentAsString()).node("[0].title").isEqualTo("Done 100%");
+        assertThatJson(underscore.getResponse().getContentAsString()).isArray().isEmpty();
+    }
+
+    @Test
+    public void testIndexWithCursorPagination() throws Exception {
+        TaskStatus statusDraft = testTask.getTaskStatus();
+        for (int i = 1; i <= 2; i++) {
+            Task task = new Task();
+            task.setIndex(100 + i);
+            task.setName("Paged Task " + i);
+            task.setTaskStatus(statusDraft);
+            taskRepository.save(task);
+        }
+
+        var firstPage = mockMvc.perform(get("/api/tasks")
+                        .param("limit", "2")
+                        .param("count", "true")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThatJson(firstPage.getContentAsString()).isArray().hasSize(2);
+        assertThat(firstPage.getHeader("X-Total-Count")).isEqualTo("3");
+        var cursor = firstPage.getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        var secondPage = mockMvc.perform(get("/api/tasks")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThatJson(secondPage.getContentAsString()).isArray().hasSize(1);
+        assertThatJson(secondPage.getContentAsString()).node("[0].title").isEqualTo("Paged Task 2");
+        assertThat(secondPage.getHeader("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    public void testIndexWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "not-a-cursor")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks/export")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        var lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(1);
+        assertThatJson(lines.get(0)).node("title").isEqualTo(testTask.getName());
+    }
+
+    @Test
+    public void testExportCsv() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks/export")
+                        .param("format", "csv")
+                        .param("status", "draft")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        var lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("id,index,title");
+        assertThat(lines.get(1)).contains("Initial Title", "draft");
+    }
+
+    @Test
+    public void testFilteredIndexIsInvalidatedByRepositoryWrite() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "draft")
+                        .with(jwt()))
+                .andExpect(status().isOk());
+
+        Task other = new Task();
+        other.setName("Written Elsewhere");
+        other.setTaskStatus(testTask.getTaskStatus());
+        taskRepository.save(other);
+
+        var after = mockMvc.perform(get("/api/tasks")
+                        .param("status", "draft")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThatJson(after.getResponse().getContentAsString()).isArray().hasSize(2);
+    }
+
+    @Test
+    public void testFilteredIndexIsInvalidatedByUpdate() throws Exception {
+        var before = mockMvc.perform(get("/api/tasks")
+                        .param("status", "draft")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThatJson(before.getResponse().getContentAsString()).isArray().hasSize(1);
+
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setStatus(JsonNullable.of("to_review"));
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO))
+                        .with(jwt()))
+                .andExpect(status().isOk());
+
+        var after = mockMvc.perform(get("/api/tasks")
+                        .param("status", "draft")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThatJson(after.getResponse().getContentAsString()).isArray().isEmpty();
+    }
+
+    @Test
+    public void testCreateBatch() throws Exception {
+        Label label = new Label();
+        label.setName("BatchLabel");
+        labelRepository.save(label);
+
+        TaskCreateDTO first = new TaskCreateDTO();
+        first.setTitle("Batch Task 1");
+        first.setStatus("to_review");
+        first.setTaskLabelIds(List.of(label.getId()));
+
+        TaskCreateDTO second = new TaskCreateDTO();
+        second.setTitle("Batch Task 2");
+        second.setStatus("draft");
+
+        var result = mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(first, second)))
+                        .with(jwt()))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+
+        assertThatJson(body).isArray().hasSize(2);
+        assertThatJson(body).node("[0].status").isEqualTo("to_review");
+        assertThatJson(body).node("[0].taskLabelIds").isArray().containsExactly(label.getId());
+        assertThatJson(body).node("[1].title").isEqualTo("Batch Task 2");
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCreateBatchWithUnknownStatus() throws Exception {
+        TaskCreateDTO task = new TaskCreateDTO();
+        task.setTitle("Batch Task");
+        task.setStatus("unknown");
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(task)))
+                        .with(jwt()))
+                .andExpect(status().isNotFound());
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCreateBatchWithUnknownAssignee() throws Exception {
+        TaskCreateDTO task = new TaskCreateDTO();
+        task.setTitle("Batch Task");
+        task.setStatus("draft");
+        task.setAssigneeId(Long.MAX_VALUE);
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(task)))
+                        .with(jwt()))
+                .andExpect(status().isNotFound());
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBulkUpdateByFilter() throws Exception {
+        Task other = new Task();
+        other.setName("Other Task");
+        other.setTaskStatus(taskStatusRepository.findBySlug("to_review").get());
+        taskRepository.save(other);
+
+        var request = Map.of(
+                "filter", Map.of("status", "draft"),
+                "status", "to_be_fixed");
+
+        var result = mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request))
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).node("updated").isEqualTo(1);
+        assertThat(taskRepository.findById(testTask.getId()).get().getTaskStatus().getSlug())
+                .isEqualTo("to_be_fixed");
+        assertThat(taskRepository.findById(other.getId()).get().getTaskStatus().getSlug())
+                .isEqualTo("to_review");
+    }
+
+    @Test
+    public void testBulkUpdateLabelsByIds() throws Exception {
+        Label bug = new Label();
+        bug.setName("BulkBug");
+        labelRepository.save(bug);
+        Label feature = new Label();
+        feature.setName("BulkFeature");
+        labelRepository.save(feature);
+        testTask.getLabels().add(feature);
+        taskRepository.save(testTask);
+
+        var request = Map.of(
+                "ids", List.of(testTask.getId()),
+                "addLabelIds", List.of(bug.getId()),
+                "removeLabelIds", List.of(feature.getId()));
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request))
+                        .with(jwt()))
+                .andExpect(status().isOk());
+
+        var result = mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThatJson(result.getResponse().getContentAsString())
+                .node("taskLabelIds").isArray().containsExactly(bug.getId());
+    }
+
+    @Test
+    public void testBulkUpdateWithoutTarget() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("status", "draft")))
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBulkUpdateRejectsEmptyFilter() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("filter", Map.of(), "status", "to_be_fixed")))
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(taskRepository.findById(testTask.getId()).orElseThrow().getTaskStatus().getSlug())
+                .isEqualTo("draft");
+    }
+
+    @Test
+    public void testBulkUpdateRejectsTooManyIds() throws Exception {
+        var ids = LongStream.rangeClosed(1, TaskBulkUpdateDTO.MAX_TASKS + 1).boxed().toList();
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("ids", ids, "status", "to_be_fixed")))
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testIndexRevalidatesUntilBulkUpdate() throws Exception {
+        var assignee = new User();
+        assignee.setEmail("etag-assignee@example.com");
+        userRepository.save(assignee);
+
+        var first = mockMvc.perform(get("/api/tasks").param("status", "draft")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        var etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        var revalidated = mockMvc.perform(get("/api/tasks").param("status", "draft")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(revalidated.getResponse().getContentAsString()).isEmpty();
+        assertThat(revalidated.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of(
+                                "ids", List.of(testTask.getId()),
+                                "assignee_id", assignee.getId())))
+                        .with(jwt()))
+                .andExpect(status().isOk());
+        assertThat(taskRepository.findById(testTask.getId()).orElseThrow().getAssignee().getId())
+                .isEqualTo(assignee.getId());
+
+        var changed = mockMvc.perform(get("/api/tasks").param("status", "draft")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testUpdateWithStaleIfMatch() throws Exception {
+        var shown = mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        var etag = shown.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks/{id}", testTask.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isNotModified());
+
+        TaskUpdateDTO updateDTO = new TaskUpdateDTO();
+        updateDTO.setTitle(JsonNullable.of("First Writer"));
+        var updated = mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(updated.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+
+        updateDTO.setTitle(JsonNullable.of("Second Writer"));
+        mockMvc.perform(put("/api/tasks/{id}", testTask.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .with(jwt()))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskRepository.findById(testTask.getId()).get().getName()).isEqualTo("First Writer");
+    }
+
+    @Test
+    public void testIndexInCbor() throws Exception {
+        var result = mockMvc.perform(get("/api/tasks")
+                        .accept("application/cbor")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/cbor");
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        var tasks = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(tasks.get(0).get("title").asText()).isEqualTo(testTask.getName());
+        assertThat(tasks.get(0).get("createdAt").asText()).isEqualTo(testTask.getCreatedAt().toString());
+    }
 }
@@ -6,6 +6,7 @@ import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.UserUpdateDTO;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.JWTUtils;
 import hexlet.code.utils.UserUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +21,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
@@ -180,4 +182,118 @@ public class UsersControllerTest {
         mockMvc.perform(get("/api/users/{id}", testUser.getId()))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    public void testOwnershipFollowsEmailChange() throws Exception {
+        var oldToken = jwt().jwt(builder -> builder.subject(testUser.getEmail()));
+        UserUpdateDTO updateDTO = new UserUpdateDTO();
+        updateDTO.setEmail(JsonNullable.of("renamed@example.com"));
+
+        mockMvc.perform(put("/api/users/{id}", testUser.getId())
+                        .with(oldToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(oldToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(jwt().jwt(builder -> builder.subject("renamed@example.com"))))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testOwnershipFromUserIdClaim() throws Exception {
+        var tokenWithId = jwt().jwt(builder -> builder
+                .subject(testUser.getEmail())
+                .claim(JWTUtils.USER_ID_CLAIM, testUser.getId()));
+        var tokenWithOtherId = jwt().jwt(builder -> builder
+                .subject(testUser.getEmail())
+                .claim(JWTUtils.USER_ID_CLAIM, testUser.getId() + 1));
+
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(tokenWithOtherId))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/users/{id}", testUser.getId())
+                        .with(tokenWithId))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testImportJson() throws Exception {
+        var valid = new UserCreateDTO();
+        valid.setEmail("imported@example.com");
+        valid.setPassword("secret");
+        var existing = new UserCreateDTO();
+        existing.setEmail(testUser.getEmail());
+        existing.setPassword("secret");
+        var invalid = new UserCreateDTO();
+        invalid.setEmail("not-an-email");
+        invalid.setPassword("secret");
+
+        var result = mockMvc.perform(post("/api/users/import")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(List.of(valid, existing, invalid, valid))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("imported").isEqualTo(1),
+                v -> v.node("errors").isArray().hasSize(3),
+                v -> v.node("errors[0].row").isEqualTo(2),
+                v -> v.node("errors[0].message").isEqualTo("Email already exists"),
+                v -> v.node("errors[1].row").isEqualTo(3),
+                v -> v.node("errors[2].row").isEqualTo(4),
+                v -> v.node("errors[2].message").isEqualTo("Duplicate email in import"));
+        var imported = userRepository.findByEmail("imported@example.com").orElseThrow();
+        assertThat(imported.getPasswordDigest()).isNotEqualTo("secret").startsWith("$2a$");
+        assertThat(imported.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    public void testImportJsonWithNullRow() throws Exception {
+        var result = mockMvc.perform(post("/api/users/import")
+                        .with(token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"email\": \"after-null@example.com\", \"password\": \"secret\"}]"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString()).and(
+                v -> v.node("imported").isEqualTo(1),
+                v -> v.node("errors").isArray().hasSize(1),
+                v -> v.node("errors[0].row").isEqualTo(1),
+                v -> v.node("errors[0].message").isEqualTo("Row is empty"));
+        assertThat(userRepository.findByEmail("after-null@example.com")).isPresent();
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        var csv = "email,password,first_name,last_name\r\n"
+                + "csv1@example.com,secret,\"Doe, Jr.\",John\r\n"
+                + "\r\n"
+                + "csv2@example.com,secret,Jane,\"O\"\"Brien\"\r\n";
+
+        mockMvc.perform(post("/api/users/import")
+                        .with(token)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findByEmail("csv1@example.com").orElseThrow().getFirstName())
+                .isEqualTo("Doe, Jr.");
+        assertThat(userRepository.findByEmail("csv2@example.com").orElseThrow().getLastName())
+                .isEqualTo("O\"Brien");
+    }
+
+    @Test
+    public void testImportCsvWithoutPasswordColumn() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .with(token)
+                        .contentType("text/csv")
+                        .content("email\ncsv@example.com\n"))
+                .andExpect(status().isBadRequest());
+    }
 }
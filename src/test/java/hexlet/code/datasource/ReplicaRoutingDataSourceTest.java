@@ -0,0 +1,148 @@
+package hexlet.code.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from replication_lag";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = database("routing_primary");
+    private final FailingDataSource first = new FailingDataSource(database("routing_replica_1"));
+    private final FailingDataSource second = new FailingDataSource(database("routing_replica_2"));
+
+    @BeforeEach
+    public void setUp() {
+        for (var replica : List.of(first, second)) {
+            var jdbc = new JdbcTemplate(replica);
+            jdbc.execute("create table if not exists replication_lag (seconds double)");
+            jdbc.update("delete from replication_lag");
+            jdbc.update("insert into replication_lag values (0)");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void testWritesGoToPrimary() throws SQLException {
+        var routing = routing(ReplicaSelection.ROUND_ROBIN);
+
+        assertThat(target(routing)).isEqualTo("ROUTING_PRIMARY");
+    }
+
+    @Test
+    public void testReadOnlyTransactionsRotateOverReplicas() throws SQLException {
+        var routing = routing(ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            targets.add(target(routing));
+        }
+
+        assertThat(targets).containsExactly(
+                "ROUTING_REPLICA_1", "ROUTING_REPLICA_2", "ROUTING_REPLICA_1", "ROUTING_REPLICA_2");
+    }
+
+    @Test
+    public void testLeastLoadedPrefersIdleReplica() throws SQLException {
+        var routing = routing(ReplicaSelection.LEAST_LOADED);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(target(routing)).isEqualTo("ROUTING_REPLICA_1");
+    }
+
+    @Test
+    public void testLaggingReplicaIsSkipped() throws SQLException {
+        new JdbcTemplate(first).update("update replication_lag set seconds = 30");
+        var routing = routing(ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(target(routing)).isEqualTo("ROUTING_REPLICA_2");
+        assertThat(target(routing)).isEqualTo("ROUTING_REPLICA_2");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "1").gauge().value())
+                .isEqualTo(30.0);
+    }
+
+    @Test
+    public void testFallsBackToPrimaryWhenReplicasAreBehind() throws SQLException {
+        new JdbcTemplate(first).update("update replication_lag set seconds = 30");
+        new JdbcTemplate(second).update("update replication_lag set seconds = 30");
+        var routing = routing(ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(target(routing)).isEqualTo("ROUTING_PRIMARY");
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnreachableReplicaIsSkippedUntilNextCheck() throws SQLException {
+        var routing = routing(ReplicaSelection.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        first.failing = true;
+
+        assertThat(target(routing)).isEqualTo("ROUTING_REPLICA_2");
+        assertThat(target(routing)).isEqualTo("ROUTING_REPLICA_2");
+
+        first.failing = false;
+        routing.checkLag();
+        assertThat(List.of(target(routing), target(routing)))
+                .containsExactlyInAnyOrder("ROUTING_REPLICA_1", "ROUTING_REPLICA_2");
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaSelection selection) {
+        var routing = new ReplicaRoutingDataSource(primary, List.of(first, second), selection,
+                Duration.ofSeconds(5), LAG_QUERY, meterRegistry);
+        routing.checkLag();
+        return routing;
+    }
+
+    private static String target(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var result = statement.executeQuery("select database()")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static final class FailingDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+
+        FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Replica unavailable");
+            }
+            return super.getConnection();
+        }
+    }
+}
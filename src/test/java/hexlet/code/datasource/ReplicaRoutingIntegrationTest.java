@@ -0,0 +1,140 @@
+package hexlet.code.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.EntityTags;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing through the real JPA stack: two H2 replicas that never receive the primary's writes, so where a
+ * read went shows in what it returns. The second-level cache is off so every load reaches a database.
+ */
+@SpringBootTest(properties = {
+    "data.initializer.enabled=false",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "datasource.routing.enabled=true",
+    "datasource.routing.replicas[0].url=" + ReplicaRoutingIntegrationTest.FIRST_REPLICA,
+    "datasource.routing.replicas[0].username=sa",
+    "datasource.routing.replicas[1].url=" + ReplicaRoutingIntegrationTest.SECOND_REPLICA,
+    "datasource.routing.replicas[1].username=sa"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    static final String FIRST_REPLICA = "jdbc:h2:mem:routing_it_replica_1;DB_CLOSE_DELAY=-1";
+    static final String SECOND_REPLICA = "jdbc:h2:mem:routing_it_replica_2;DB_CLOSE_DELAY=-1";
+
+    private static final String INSERT_STATUS = "insert into task_status (id, name, slug, created_at, version) "
+            + "values (?, ?, ?, current_date, ?)";
+    private static final String SELECT_NAME = "select name from task_status where id = ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+    private List<JdbcTemplate> replicas;
+    private TaskStatus taskStatus;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replicas = List.of(replica(FIRST_REPLICA), replica(SECOND_REPLICA));
+        taskStatusRepository.deleteAll();
+
+        taskStatus = new TaskStatus();
+        taskStatus.setName("Primary");
+        taskStatus.setSlug("routing");
+        taskStatusRepository.save(taskStatus);
+        for (var replica : replicas) {
+            replica.update(INSERT_STATUS, taskStatus.getId(), "Replica", "routing", taskStatus.getVersion());
+        }
+    }
+
+    @Test
+    public void testRepositoryReadGoesToReplica() {
+        assertThat(taskStatusRepository.findById(taskStatus.getId()).orElseThrow().getName())
+                .isEqualTo("Replica");
+    }
+
+    @Test
+    public void testRepositoryWriteGoesToPrimary() {
+        var written = new TaskStatus();
+        written.setName("Written");
+        written.setSlug("written");
+        taskStatusRepository.save(written);
+
+        assertThat(primary.queryForList(SELECT_NAME, String.class, written.getId())).containsExactly("Written");
+        for (var replica : replicas) {
+            assertThat(replica.queryForList(SELECT_NAME, String.class, written.getId())).isEmpty();
+        }
+    }
+
+    @Test
+    public void testUpdateReadsCurrentVersionFromPrimary() throws Exception {
+        primary.update("update task_status set name = 'Renamed', version = 1 where id = ?", taskStatus.getId());
+
+        mockMvc.perform(put("/api/task_statuses/{id}", taskStatus.getId())
+                        .header(HttpHeaders.IF_MATCH, EntityTags.of(taskStatus.getId(), 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Updated\"}")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, EntityTags.of(taskStatus.getId(), 2)));
+
+        assertThat(primary.queryForObject(SELECT_NAME, String.class, taskStatus.getId())).isEqualTo("Updated");
+        for (var replica : replicas) {
+            assertThat(replica.queryForObject(SELECT_NAME, String.class, taskStatus.getId())).isEqualTo("Replica");
+        }
+    }
+
+    @Test
+    public void testDeleteFindsRowNotYetOnReplicas() throws Exception {
+        var created = new TaskStatus();
+        created.setName("Created");
+        created.setSlug("created");
+        taskStatusRepository.save(created);
+
+        mockMvc.perform(delete("/api/task_statuses/{id}", created.getId())
+                        .with(jwt()))
+                .andExpect(status().isNoContent());
+
+        assertThat(primary.queryForList(SELECT_NAME, String.class, created.getId())).isEmpty();
+    }
+
+    private static JdbcTemplate replica(String url) {
+        var flyway = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
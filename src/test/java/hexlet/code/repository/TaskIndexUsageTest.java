@@ -0,0 +1,158 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.TaskCreateDTO;
+import hexlet.code.dto.TaskPageParamsDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.service.TaskService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"data.initializer.enabled=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "hexlet.code.repository.TaskIndexUsageTest$SqlCapture"})
+public class TaskIndexUsageTest {
+
+    private static final int TASKS = 500;
+    private static final List<String> STATUSES = List.of("draft", "to_review", "published");
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User assignee;
+    private Label label;
+
+    @BeforeEach
+    public void setUp() {
+        assignee = userRepository.findByEmail("indexed@example.com").orElse(null);
+        label = labelRepository.findByName("Indexed").orElse(null);
+        if (assignee != null && label != null) {
+            return;
+        }
+        for (var slug : STATUSES) {
+            var status = new TaskStatus();
+            status.setName(slug);
+            status.setSlug(slug);
+            taskStatusRepository.save(status);
+        }
+        var users = new ArrayList<User>();
+        for (int i = 0; i < 10; i++) {
+            var user = new User();
+            user.setEmail(i == 0 ? "indexed@example.com" : "indexed-" + i + "@example.com");
+            users.add(userRepository.save(user));
+        }
+        var labels = new ArrayList<Label>();
+        for (int i = 0; i < 10; i++) {
+            var created = new Label();
+            created.setName(i == 0 ? "Indexed" : "Indexed " + i);
+            labels.add(labelRepository.save(created));
+        }
+        var tasks = new ArrayList<TaskCreateDTO>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            var task = new TaskCreateDTO();
+            task.setIndex(i);
+            task.setTitle("Indexed task " + i);
+            task.setStatus(STATUSES.get(i % STATUSES.size()));
+            task.setAssigneeId(users.get(i % users.size()).getId());
+            task.setTaskLabelIds(List.of(labels.get(i % labels.size()).getId()));
+            tasks.add(task);
+        }
+        taskService.createAll(tasks);
+        jdbcTemplate.execute("analyze");
+        assignee = users.get(0);
+        label = labels.get(0);
+    }
+
+    @ParameterizedTest(name = "status={0}, assignee={1}, label={2}")
+    @CsvSource({
+        "true, false, false",
+        "false, true, false",
+        "false, false, true",
+        "true, true, false",
+        "true, false, true",
+        "false, true, true",
+        "true, true, true"
+    })
+    public void testFilterUsesIndexes(boolean byStatus, boolean byAssignee, boolean byLabel) {
+        var params = new TaskParamsDTO();
+        if (byStatus) {
+            params.setStatus("draft");
+        }
+        if (byAssignee) {
+            params.setAssigneeId(assignee.getId());
+        }
+        if (byLabel) {
+            params.setLabelId(label.getId());
+        }
+
+        SqlCapture.STATEMENTS.clear();
+        taskService.getPage(params, new TaskPageParamsDTO());
+        var sql = SqlCapture.STATEMENTS.stream()
+                .filter(statement -> statement.startsWith("select") && statement.contains(" from tasks "))
+                .findFirst()
+                .orElseThrow();
+        var plan = explain(sql);
+
+        assertThat(plan).doesNotContain("tableScan");
+        if (byLabel) {
+            assertThat(plan).contains("TASKS_LABELS_LABEL_IDX");
+        }
+        if (byStatus && !byAssignee && !byLabel) {
+            assertThat(plan).contains("TASKS_STATUS_CREATED_IDX");
+        }
+        if (byAssignee && !byStatus && !byLabel) {
+            assertThat(plan).contains("TASKS_ASSIGNEE_CREATED_IDX");
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query("explain " + sql, statement -> {
+            var count = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                statement.setString(i, "1");
+            }
+        }, rows -> {
+            var plan = new StringBuilder();
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    public static final class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package hexlet.code.security;
+
+import hexlet.code.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final BoundedPasswordEncoder encoder =
+            new BoundedPasswordEncoder(blocking, 1, 1, 2, 2, Duration.ofSeconds(2), meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    public void testRejectsWhenPoolAndQueueAreFull() throws Exception {
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .extracting("retryAfter")
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        assertThat(encoder.matches("first", "hash:first")).isTrue();
+    }
+
+    @Test
+    public void testEncodeAllKeepsOrder() {
+        release.countDown();
+
+        assertThat(encoder.encodeAll(List.of("a", "b", "c"))).containsExactly("hash:a", "hash:b", "hash:c");
+    }
+
+    @Test
+    public void testRejectsBatchThatDoesNotFitBulkQueue() {
+        assertThatThrownBy(() -> encoder.encodeAll(List.of("a", "b", "c", "d", "e")))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .extracting("retryAfter")
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(encoder.encodeAll(List.of("a", "b"))).containsExactly("hash:a", "hash:b");
+    }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.security;
+
+import hexlet.code.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingAuthenticationProviderTest {
+
+    private final AtomicInteger checks = new AtomicInteger();
+    private final User user = new User();
+
+    private final AuthenticationProvider delegate = new AuthenticationProvider() {
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            checks.incrementAndGet();
+            if (!"secret".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(user, null, List.of());
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return true;
+        }
+    };
+
+    @Test
+    public void testCachesSuccessfulVerification() {
+        var cache = cache(true);
+        var provider = new CachingAuthenticationProvider(delegate, cache);
+
+        var first = provider.authenticate(credentials("secret"));
+        var second = provider.authenticate(credentials("secret"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    public void testDoesNotCacheFailuresOrOtherPasswords() {
+        var provider = new CachingAuthenticationProvider(delegate, cache(true));
+        provider.authenticate(credentials("secret"));
+
+        assertThatThrownBy(() -> provider.authenticate(credentials("wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(credentials("wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(checks).hasValue(3);
+    }
+
+    @Test
+    public void testEvictsOnUserChange() {
+        var cache = cache(true);
+        var provider = new CachingAuthenticationProvider(delegate, cache);
+        provider.authenticate(credentials("secret"));
+
+        cache.evictUser(user.getId());
+        provider.authenticate(credentials("secret"));
+
+        assertThat(checks).hasValue(2);
+    }
+
+    @Test
+    public void testDoesNotCacheWhenDisabled() {
+        var provider = new CachingAuthenticationProvider(delegate, cache(false));
+        provider.authenticate(credentials("secret"));
+        provider.authenticate(credentials("secret"));
+
+        assertThat(checks).hasValue(2);
+    }
+
+    private VerifiedCredentialCache cache(boolean enabled) {
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        return new VerifiedCredentialCache(enabled, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    private static Authentication credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("user@example.com", password);
+    }
+}
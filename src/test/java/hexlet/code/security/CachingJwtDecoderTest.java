@@ -0,0 +1,62 @@
+package hexlet.code.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingJwtDecoderTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    @Test
+    public void testCachesVerifiedToken() {
+        var decoder = decoder(Instant.now().plusSeconds(60));
+
+        var first = decoder.decode("token");
+        var second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes).hasValue(1);
+    }
+
+    @Test
+    public void testDoesNotCacheExpiredToken() {
+        var decoder = decoder(Instant.now().minusSeconds(1));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    public void testDoesNotCacheTokenWithoutExpiry() {
+        var decoder = decoder(null);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    private CachingJwtDecoder decoder(Instant expiresAt) {
+        JwtDecoder delegate = token -> {
+            decodes.incrementAndGet();
+            var jwt = Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user@example.com")
+                    .issuedAt(Instant.now().minusSeconds(10));
+            if (expiresAt != null) {
+                jwt.expiresAt(expiresAt);
+            }
+            return jwt.build();
+        };
+        return new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(15), null);
+    }
+}
@@ -0,0 +1,94 @@
+package hexlet.code.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtKeyRingTest {
+
+    @ParameterizedTest
+    @EnumSource(JwtKeyType.class)
+    public void testRoundTrip(JwtKeyType type) throws Exception {
+        var key = generate(type, "key-1");
+        var ring = new JwtKeyRing(key, List.of(key));
+
+        var token = ring.encoder().encode(JwtEncoderParameters.from(claims())).getTokenValue();
+        var jwt = ring.decoder(JwtValidators.createDefault()).decode(token);
+
+        assertThat(jwt.getSubject()).isEqualTo("user@example.com");
+        assertThat(jwt.getHeaders()).containsEntry("kid", "key-1")
+                .containsEntry("alg", type.getJwsAlgorithm().getName());
+    }
+
+    @Test
+    public void testRotationKeepsOldTokensValid() throws Exception {
+        var oldKey = generate(JwtKeyType.RSA, "old");
+        var newKey = generate(JwtKeyType.ED25519, "new");
+        var oldToken = new JwtKeyRing(oldKey, List.of(oldKey)).encoder()
+                .encode(JwtEncoderParameters.from(claims())).getTokenValue();
+
+        var rotated = new JwtKeyRing(newKey, List.of(newKey, oldKey));
+
+        assertThat(rotated.decoder(JwtValidators.createDefault()).decode(oldToken).getSubject())
+                .isEqualTo("user@example.com");
+        var withoutOldKey = new JwtKeyRing(newKey, List.of(newKey)).decoder(JwtValidators.createDefault());
+        assertThatThrownBy(() -> withoutOldKey.decode(oldToken)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    public void testAcceptsLegacyTokenWithoutKeyId() throws Exception {
+        var key = (RSAKey) generate(JwtKeyType.RSA, "rsa-1");
+        var legacy = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), new JWTClaimsSet.Builder()
+                .subject("user@example.com")
+                .expirationTime(Date.from(Instant.now().plusSeconds(60)))
+                .build());
+        legacy.sign(new RSASSASigner(key));
+
+        var ring = new JwtKeyRing(key, List.of(key));
+
+        assertThat(ring.decoder(JwtValidators.createDefault()).decode(legacy.serialize()).getSubject())
+                .isEqualTo("user@example.com");
+    }
+
+    private static JwtClaimsSet claims() {
+        var now = Instant.now();
+        return JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .subject("user@example.com")
+                .build();
+    }
+
+    private static JWK generate(JwtKeyType type, String keyId) throws Exception {
+        var generator = KeyPairGenerator.getInstance(type.getKeyAlgorithm());
+        switch (type) {
+            case RSA -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            default -> {
+            }
+        }
+        var keyPair = generator.generateKeyPair();
+        return type.toJwk(keyId, keyPair.getPublic(), keyPair.getPrivate());
+    }
+}
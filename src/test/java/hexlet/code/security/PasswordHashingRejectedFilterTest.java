@@ -0,0 +1,114 @@
+package hexlet.code.security;
+
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"data.initializer.enabled=false"})
+@AutoConfigureMockMvc
+public class PasswordHashingRejectedFilterTest {
+
+    private static final String BLOCKING_PASSWORD = "block";
+    private static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+
+    private static volatile CountDownLatch started;
+    private static volatile CountDownLatch release;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        userRepository.deleteAll();
+        var user = new User();
+        user.setEmail("basic@example.com");
+        user.setPasswordDigest("hash:password");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void testBasicAuthGetsServiceUnavailableWhenHashingIsSaturated() throws Exception {
+        mockMvc.perform(get("/api/task_statuses").with(httpBasic("basic@example.com", "password")))
+                .andExpect(status().isOk());
+
+        var running = CompletableFuture.runAsync(() -> passwordEncoder.encode(BLOCKING_PASSWORD));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.runAsync(() -> passwordEncoder.encode(BLOCKING_PASSWORD));
+        while (METER_REGISTRY.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        mockMvc.perform(get("/api/task_statuses").with(httpBasic("basic@example.com", "password")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @TestConfiguration
+    static class BlockingEncoderConfig {
+
+        @Bean
+        @Primary
+        BoundedPasswordEncoder blockingPasswordEncoder() {
+            PasswordEncoder blocking = new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    if (BLOCKING_PASSWORD.contentEquals(rawPassword)) {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return "hash:" + rawPassword;
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return encode(rawPassword).equals(encodedPassword);
+                }
+            };
+            return new BoundedPasswordEncoder(blocking, 1, 1, 1, 1, Duration.ofSeconds(2), METER_REGISTRY);
+        }
+    }
+}
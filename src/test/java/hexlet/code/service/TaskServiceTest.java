@@ -0,0 +1,126 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskPageParamsDTO;
+import hexlet.code.dto.TaskParamsDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "data.initializer.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class TaskServiceTest {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        taskStatusRepository.deleteAll();
+        userRepository.deleteAll();
+
+        TaskStatus status = new TaskStatus();
+        status.setName("Draft");
+        status.setSlug("draft");
+        taskStatusRepository.save(status);
+
+        User assignee = new User();
+        assignee.setEmail("page-assignee@example.com");
+        assignee.setPasswordDigest("$2a$10$dummyHashedPassword");
+        userRepository.save(assignee);
+
+        Label bug = new Label();
+        bug.setName("bug");
+        labelRepository.save(bug);
+        Label feature = new Label();
+        feature.setName("feature");
+        labelRepository.save(feature);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Task task = new Task();
+            task.setIndex(i);
+            task.setName("Task " + i);
+            task.setTaskStatus(status);
+            task.setAssignee(assignee);
+            task.getLabels().add(bug);
+            if (i % 2 == 0) {
+                task.getLabels().add(feature);
+            }
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    public void testPageLoadsInFixedNumberOfStatements() {
+        var pageParams = new TaskPageParamsDTO();
+        pageParams.setLimit(PAGE_SIZE);
+
+        statistics.clear();
+        var page = taskService.getPage(new TaskParamsDTO(), pageParams);
+
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        assertThat(page.getItems()).allSatisfy(task -> {
+            assertThat(task.getStatus()).isEqualTo("draft");
+            assertThat(task.getAssigneeId()).isNotNull();
+            assertThat(task.getTaskLabelIds()).isNotEmpty();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFilteredListLoadsInFixedNumberOfStatements() {
+        var label = labelRepository.findByName("feature").orElseThrow();
+        var params = new TaskParamsDTO();
+        params.setLabelId(label.getId());
+
+        statistics.clear();
+        var tasks = taskService.getAll(params).getItems();
+
+        assertThat(tasks).hasSize(PAGE_SIZE / 2);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getTaskLabelIds()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}